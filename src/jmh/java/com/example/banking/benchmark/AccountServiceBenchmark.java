@@ -0,0 +1,86 @@
+package com.example.banking.benchmark;
+
+import com.example.banking.dto.accountDto.AccountResponse;
+import com.example.banking.dto.accountDto.BatchOperationRequest;
+import com.example.banking.dto.accountDto.BatchResponse;
+import com.example.banking.dto.accountDto.OperationType;
+import com.example.banking.money.Money;
+import com.example.banking.service.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountServiceBenchmark {
+    private static final int BATCH_SIZE = 100;
+    private static final Money INITIAL_BALANCE = Money.valueOf("1000000000000");
+
+    @Param({"true", "false"})
+    public boolean journal;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("banking.journal.enabled=" + journal);
+        accountService = context.getBean(AccountService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadAccount {
+        private Long accountId;
+        private List<BatchOperationRequest> batch;
+
+        @Setup(Level.Trial)
+        public void setUp(AccountServiceBenchmark benchmark) {
+            accountId = BenchmarkContext.createAccount(benchmark.context, INITIAL_BALANCE);
+            batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(new BatchOperationRequest(accountId, OperationType.DEPOSIT, Money.ofMajor(1)));
+            }
+        }
+    }
+
+    @Benchmark
+    public AccountResponse deposit(ThreadAccount account) {
+        return accountService.deposit(account.accountId, Money.ofMajor(1));
+    }
+
+    @Benchmark
+    public AccountResponse withDraw(ThreadAccount account) {
+        return accountService.withDraw(account.accountId, Money.ofMajor(1));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchResponse batchDeposit(ThreadAccount account) {
+        return accountService.applyBatch(account.batch);
+    }
+}
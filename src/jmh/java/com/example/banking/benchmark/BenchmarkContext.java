@@ -0,0 +1,39 @@
+package com.example.banking.benchmark;
+
+import com.example.banking.TestBankingSystemApplication;
+import com.example.banking.dto.accountDto.AccountRequest;
+import com.example.banking.dto.userDto.UserRequest;
+import com.example.banking.money.Money;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.UserService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(TestBankingSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=warn", "logging.level.com.example.banking=warn")
+                .properties(properties)
+                .run();
+    }
+
+    static Long createAccount(ConfigurableApplicationContext context, Money balance) {
+        String suffix = UUID.randomUUID().toString();
+        String email = suffix + "@bench.com";
+        context.getBean(UserService.class).createUser(new UserRequest("Benchmark", email));
+        AccountService accountService = context.getBean(AccountService.class);
+        Long accountId = accountService.createAccount(new AccountRequest(suffix, email)).id();
+        if (balance.signum() > 0) {
+            accountService.deposit(accountId, balance);
+        }
+        return accountId;
+    }
+}
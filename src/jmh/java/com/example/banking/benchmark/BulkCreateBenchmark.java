@@ -0,0 +1,100 @@
+package com.example.banking.benchmark;
+
+import com.example.banking.dto.accountDto.AccountRequest;
+import com.example.banking.dto.accountDto.AccountResponse;
+import com.example.banking.dto.userDto.UserRequest;
+import com.example.banking.dto.userDto.UserResponse;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkCreateBenchmark {
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Param({"1000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private AccountService accountService;
+    private String ownerEmail;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        userService = context.getBean(UserService.class);
+        accountService = context.getBean(AccountService.class);
+        ownerEmail = userService.createUser(nextUser()).email();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void createUsersPerRow(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(userService.createUser(nextUser()));
+        }
+    }
+
+    @Benchmark
+    public List<UserResponse> createUsersBulk() {
+        List<UserRequest> requests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            requests.add(nextUser());
+        }
+        return userService.createUsers(requests);
+    }
+
+    @Benchmark
+    public void createAccountsPerRow(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(accountService.createAccount(nextAccount()));
+        }
+    }
+
+    @Benchmark
+    public List<AccountResponse> createAccountsBulk() {
+        List<AccountRequest> requests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            requests.add(nextAccount());
+        }
+        return accountService.createAccounts(requests);
+    }
+
+    private UserRequest nextUser() {
+        long id = sequence.incrementAndGet();
+        return new UserRequest("User " + id, "bulk" + id + "-" + System.nanoTime() + "@bench.com");
+    }
+
+    private AccountRequest nextAccount() {
+        return new AccountRequest("bulk-" + sequence.incrementAndGet(), ownerEmail);
+    }
+}
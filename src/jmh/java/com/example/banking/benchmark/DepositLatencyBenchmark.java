@@ -0,0 +1,77 @@
+package com.example.banking.benchmark;
+
+import com.example.banking.money.Money;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.wal.WalDepositService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class DepositLatencyBenchmark {
+    private static final Money AMOUNT = Money.ofMajor(1);
+
+    @Param({"sync", "wal"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private WalDepositService walDepositService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path walDirectory = Files.createTempDirectory("deposit-wal");
+        context = BenchmarkContext.start(
+                "banking.deposit.mode=" + mode,
+                "banking.wal.directory=" + walDirectory);
+        accountService = context.getBean(AccountService.class);
+        if ("wal".equals(mode)) {
+            walDepositService = context.getBean(WalDepositService.class);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadAccount {
+        private Long accountId;
+
+        @Setup(Level.Trial)
+        public void setUp(DepositLatencyBenchmark benchmark) {
+            accountId = BenchmarkContext.createAccount(benchmark.context, Money.ZERO);
+        }
+    }
+
+    @Benchmark
+    public Object deposit(ThreadAccount account) {
+        return walDepositService != null
+                ? walDepositService.deposit(account.accountId, AMOUNT)
+                : accountService.deposit(account.accountId, AMOUNT);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.banking.benchmark;
+
+import com.example.banking.money.Money;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.balance.HotAccountCoalescer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class HotAccountBenchmark {
+    private static final Money AMOUNT = Money.ofMajor(1);
+
+    @Param({"false", "true"})
+    public boolean hot;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private Long accountId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "banking.hot-accounts.enabled=" + hot,
+                "banking.hot-accounts.auto-detect-threshold=0");
+        accountService = context.getBean(AccountService.class);
+        accountId = BenchmarkContext.createAccount(context, Money.ZERO);
+        if (hot) {
+            context.getBean(HotAccountCoalescer.class).markHot(accountId);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object deposit() {
+        return accountService.deposit(accountId, AMOUNT);
+    }
+}
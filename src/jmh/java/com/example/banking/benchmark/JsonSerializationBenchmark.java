@@ -0,0 +1,63 @@
+package com.example.banking.benchmark;
+
+import com.example.banking.dto.accountDto.AccountResponse;
+import com.example.banking.dto.userDto.UserAccountResponse;
+import com.example.banking.money.Money;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"100"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private AccountResponse accountResponse;
+    private List<UserAccountResponse> userAccountResponses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        accountResponse = new AccountResponse(1L, "KG0000000001", Money.valueOf("12345.67"));
+        userAccountResponses = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            userAccountResponses.add(new UserAccountResponse(
+                    i, "User " + i, "user" + i + "@mail.com", LocalDate.now(),
+                    "KG" + i, Money.ofMajor(1_000 + i)
+            ));
+        }
+    }
+
+    @Benchmark
+    public byte[] accountResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(accountResponse);
+    }
+
+    @Benchmark
+    public byte[] userAccountResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userAccountResponses);
+    }
+}
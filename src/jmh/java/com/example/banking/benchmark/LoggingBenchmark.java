@@ -0,0 +1,92 @@
+package com.example.banking.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.example.banking.dto.accountDto.AccountResponse;
+import com.example.banking.logging.SamplingTurboFilter;
+import com.example.banking.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+    private static final String EMAIL = "user@mail.com";
+
+    private Logger unsampled;
+    private Logger sampled;
+    private List<AccountResponse> accounts;
+
+    @Setup
+    public void setUp() {
+        unsampled = newLogger(1);
+        sampled = newLogger(100);
+        accounts = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            accounts.add(new AccountResponse(i, "KG" + i, Money.ofMajor(1_000 + i)));
+        }
+    }
+
+    @Benchmark
+    public void legacyRequestLogging() {
+        unsampled.info("Запрос на получение счетов по email {}", EMAIL);
+        unsampled.info("Попытка получения счетов пользователя с email {}", EMAIL);
+        unsampled.info("Получены счета пользователя с email {}", EMAIL);
+        unsampled.info("Получены счета по email: {}", accounts);
+    }
+
+    @Benchmark
+    public void productionRequestLogging() {
+        sampled.debug("Запрос на получение счетов по email {}", EMAIL);
+        sampled.info("Попытка получения счетов пользователя с email {}", EMAIL);
+        sampled.info("Получены счета пользователя с email {}", EMAIL);
+        sampled.info("Получено {} счетов по email", accounts.size());
+    }
+
+    private Logger newLogger(int sampleRate) {
+        LoggerContext context = new LoggerContext();
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setSampleRate(sampleRate);
+        filter.setContext(context);
+        filter.start();
+        context.addTurboFilter(filter);
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %-5level [%thread] %logger - %msg%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        ch.qos.logback.classic.Logger logger = context.getLogger("com.example.banking.api.AccountApi");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.banking.benchmark;
+
+import com.example.banking.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+
+    @Param({"1000"})
+    public int size;
+
+    private BigDecimal[] decimals;
+    private Money[] amounts;
+    private BigDecimal decimalThreshold;
+    private Money threshold;
+
+    @Setup
+    public void setUp() {
+        decimals = new BigDecimal[size];
+        amounts = new Money[size];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < size; i++) {
+            long minorUnits = random.nextLong(1, 10_000_000);
+            decimals[i] = BigDecimal.valueOf(minorUnits, Money.SCALE);
+            amounts[i] = Money.ofMinor(minorUnits);
+        }
+        decimalThreshold = BigDecimal.valueOf(5_000_000, Money.SCALE);
+        threshold = Money.ofMinor(5_000_000);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalSum() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal decimal : decimals) {
+            total = total.add(decimal);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money moneySum() {
+        Money total = Money.ZERO;
+        for (Money amount : amounts) {
+            total = total.plus(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int bigDecimalCompare() {
+        int above = 0;
+        for (BigDecimal decimal : decimals) {
+            if (decimal.compareTo(decimalThreshold) > 0) {
+                above++;
+            }
+        }
+        return above;
+    }
+
+    @Benchmark
+    public int moneyCompare() {
+        int above = 0;
+        for (Money amount : amounts) {
+            if (threshold.isLessThan(amount)) {
+                above++;
+            }
+        }
+        return above;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.banking.benchmark;
+
+import com.example.banking.dto.userDto.UserRequest;
+import com.example.banking.dto.userDto.UserResponse;
+import com.example.banking.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Param({"1000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        userService = context.getBean(UserService.class);
+        for (int i = 0; i < users; i++) {
+            userService.createUser(newRequest());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserResponse createUser() {
+        return userService.createUser(newRequest());
+    }
+
+    @Benchmark
+    public List<UserResponse> getAllUsers() {
+        return userService.getAllUsers();
+    }
+
+    private UserRequest newRequest() {
+        long id = sequence.incrementAndGet();
+        return new UserRequest("User " + id, "user" + id + "-" + System.nanoTime() + "@bench.com");
+    }
+}
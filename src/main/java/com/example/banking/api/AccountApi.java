@@ -3,16 +3,25 @@ package com.example.banking.api;
 import com.example.banking.dto.SimpleResponse;
 import com.example.banking.dto.accountDto.AccountRequest;
 import com.example.banking.dto.accountDto.AccountResponse;
+import com.example.banking.dto.accountDto.BatchOperationRequest;
+import com.example.banking.dto.accountDto.BatchResponse;
+import com.example.banking.dto.accountDto.DepositReceipt;
+import com.example.banking.dto.accountDto.TransferRequest;
+import com.example.banking.dto.accountDto.TransferResponse;
+import com.example.banking.money.Money;
 import com.example.banking.service.AccountService;
+import com.example.banking.service.idempotency.IdempotencyService;
+import com.example.banking.service.wal.WalDepositService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.math.BigDecimal;
 import java.net.URI;
 import java.util.List;
 
@@ -22,13 +31,22 @@ import java.util.List;
 @Tag(name = "account API")
 @Slf4j
 public class AccountApi {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final AccountService accountService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectProvider<WalDepositService> walDepositService;
 
     @PostMapping
     @Operation(summary = "Метод для создания нового счета")
-    public ResponseEntity<AccountResponse> createAccount(@RequestBody AccountRequest accountRequest) {
-        log.info("Запрос на создание счета");
-        AccountResponse accountResponse = accountService.createAccount(accountRequest);
+    public ResponseEntity<AccountResponse> createAccount(
+            @RequestBody AccountRequest accountRequest,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        log.debug("Запрос на создание счета");
+        AccountResponse accountResponse = idempotencyService.execute(idempotencyKey,
+                "create:" + accountRequest.accountNumber() + ":" + accountRequest.userEmail(),
+                AccountResponse.class,
+                () -> accountService.createAccount(accountRequest));
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
                 .buildAndExpand(accountRequest.accountNumber())
@@ -37,13 +55,35 @@ public class AccountApi {
         return ResponseEntity.created(location).body(accountResponse);
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Метод для массового создания счетов")
+    public ResponseEntity<List<AccountResponse>> createAccounts(@RequestBody List<AccountRequest> accountRequests) {
+        log.debug("Запрос на массовое создание {} счетов", accountRequests.size());
+        List<AccountResponse> accountResponses = accountService.createAccounts(accountRequests);
+        log.info("Массово создано {} счетов", accountResponses.size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(accountResponses);
+    }
+
     @PatchMapping("/deposit/{id}")
     @Operation(summary = "Метод для пополнения счета")
-    public ResponseEntity<AccountResponse> deposit(
+    public ResponseEntity<?> deposit(
             @PathVariable Long id,
-            @RequestParam BigDecimal amount) {
-        log.info("Запрос на пополнение счета");
-        AccountResponse accountResponse = accountService.deposit(id, amount);
+            @RequestParam Money amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        log.debug("Запрос на пополнение счета");
+        WalDepositService walDeposits = walDepositService.getIfAvailable();
+        if (walDeposits != null) {
+            DepositReceipt receipt = idempotencyService.execute(idempotencyKey,
+                    fingerprint("deposit", id, amount),
+                    DepositReceipt.class,
+                    () -> walDeposits.deposit(id, amount));
+            log.info("Пополнение счета на сумму {} принято под номером {}", amount, receipt.sequence());
+            return ResponseEntity.accepted().body(receipt);
+        }
+        AccountResponse accountResponse = idempotencyService.execute(idempotencyKey,
+                fingerprint("deposit", id, amount),
+                AccountResponse.class,
+                () -> accountService.deposit(id, amount));
         log.info("Счет был пополнен на сумму {}", amount);
         return ResponseEntity.ok(accountResponse);
     }
@@ -52,31 +92,45 @@ public class AccountApi {
     @Operation(summary = "Метод для снятия счета")
     public ResponseEntity<AccountResponse> withDraw(
             @PathVariable Long id,
-            @RequestParam BigDecimal amount
+            @RequestParam Money amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
     ) {
-        log.info("Запрос на снятие с счета");
-        AccountResponse accountResponse = accountService.withDraw(id, amount);
+        log.debug("Запрос на снятие с счета");
+        AccountResponse accountResponse = idempotencyService.execute(idempotencyKey,
+                fingerprint("withDraw", id, amount),
+                AccountResponse.class,
+                () -> accountService.withDraw(id, amount));
         log.info("C счета было снято {}", amount);
         return ResponseEntity.ok(accountResponse);
     }
 
+    @PostMapping("/transfer")
+    @Operation(summary = "Метод для перевода между счетами")
+    public ResponseEntity<TransferResponse> transfer(@RequestBody TransferRequest transferRequest) {
+        log.debug("Запрос на перевод со счета {} на счет {}",
+                transferRequest.fromAccountId(), transferRequest.toAccountId());
+        TransferResponse transferResponse = accountService.transfer(transferRequest);
+        log.info("Переведено {}", transferRequest.amount());
+        return ResponseEntity.ok(transferResponse);
+    }
+
     @GetMapping
     @Operation(summary = "Метод для получения счетов по email")
     public ResponseEntity<List<AccountResponse>> getAccountsByEmail(@RequestParam String userEmail) {
-        log.info("Запрос на получение счетов по email {}", userEmail);
+        log.debug("Запрос на получение счетов по email {}", userEmail);
         List<AccountResponse> accountsByUser = accountService.getAccountsByUser(userEmail);
         if (accountsByUser.isEmpty()) {
             log.info("По данному email не найдено счетов");
             return ResponseEntity.notFound().build();
         }
-        log.info("Получены счета по email: {}", accountsByUser);
+        log.info("Получено {} счетов по email", accountsByUser.size());
         return ResponseEntity.ok(accountsByUser);
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Метод для удаления пользователя")
     public ResponseEntity<SimpleResponse> deleteAccountsByEmail(@PathVariable Long id) {
-        log.info("Запрос на удаление счета");
+        log.debug("Запрос на удаление счета");
         SimpleResponse simpleResponse = accountService.deleteById(id);
         log.info("Счет с id {} был удален", id);
         return ResponseEntity.ok(simpleResponse);
@@ -84,11 +138,48 @@ public class AccountApi {
 
     @GetMapping("/total-balance")
     @Operation(summary = "Метод для получения общей суммы в банке")
-    public BigDecimal getTotalBalance() {
-        log.info("Запрос на получение средств в банке");
-        BigDecimal totalBalance = accountService.findTotalBalance();
+    public Money getTotalBalance() {
+        log.debug("Запрос на получение средств в банке");
+        Money totalBalance = accountService.findTotalBalance();
         log.info("Общая сумма в банке {}", totalBalance);
         return totalBalance;
     }
-}
 
+    @GetMapping("/top")
+    @Operation(summary = "Метод для получения счетов с наибольшим балансом")
+    public List<AccountResponse> getTopAccounts(@RequestParam(defaultValue = "10") int limit) {
+        log.debug("Запрос на получение {} счетов с наибольшим балансом", limit);
+        return accountService.getTopAccounts(limit);
+    }
+
+    @GetMapping("/range")
+    @Operation(summary = "Метод для получения счетов с балансом в заданном диапазоне")
+    public List<AccountResponse> getAccountsInRange(@RequestParam Money min,
+                                                    @RequestParam Money max,
+                                                    @RequestParam(defaultValue = "100") int limit) {
+        log.debug("Запрос на получение счетов с балансом от {} до {}", min, max);
+        return accountService.getAccountsInRange(min, max, limit);
+    }
+
+    @GetMapping("/{id}/reconstructed-balance")
+    @Operation(summary = "Метод для восстановления баланса счета по журналу операций")
+    public Money reconstructBalance(@PathVariable Long id) {
+        log.debug("Запрос на восстановление баланса счета {}", id);
+        Money balance = accountService.reconstructBalance(id);
+        log.info("Баланс счета {} по журналу {}", id, balance);
+        return balance;
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Метод для пакетного пополнения и снятия со счетов")
+    public ResponseEntity<BatchResponse> applyBatch(@RequestBody List<BatchOperationRequest> operations) {
+        log.debug("Запрос на пакетную обработку {} операций", operations.size());
+        BatchResponse batchResponse = accountService.applyBatch(operations);
+        log.info("Пакет обработан: применено {}, отклонено {}", batchResponse.applied(), batchResponse.rejected());
+        return ResponseEntity.ok(batchResponse);
+    }
+
+    private String fingerprint(String operation, Long id, Money amount) {
+        return operation + ":" + id + ":" + (amount == null ? "" : amount.minorUnits());
+    }
+}
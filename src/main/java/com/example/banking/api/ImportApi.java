@@ -0,0 +1,43 @@
+package com.example.banking.api;
+
+import com.example.banking.dto.importDto.ImportReport;
+import com.example.banking.service.importer.CsvImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+@Tag(name = "import API")
+@Slf4j
+public class ImportApi {
+    private static final String TEXT_CSV = "text/csv";
+
+    private final CsvImportService csvImportService;
+
+    @PostMapping(value = "/users", consumes = TEXT_CSV)
+    @Operation(summary = "Метод для потокового импорта пользователей из CSV (name,email)")
+    public ResponseEntity<ImportReport> importUsers(InputStream body) {
+        log.debug("Запрос на импорт пользователей");
+        ImportReport report = csvImportService.importUsers(body);
+        log.info("Импортировано {} пользователей, ошибок {}", report.imported(), report.failed());
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping(value = "/accounts", consumes = TEXT_CSV)
+    @Operation(summary = "Метод для потокового импорта счетов из CSV (accountNumber,userEmail)")
+    public ResponseEntity<ImportReport> importAccounts(InputStream body) {
+        log.debug("Запрос на импорт счетов");
+        ImportReport report = csvImportService.importAccounts(body);
+        log.info("Импортировано {} счетов, ошибок {}", report.imported(), report.failed());
+        return ResponseEntity.ok(report);
+    }
+}
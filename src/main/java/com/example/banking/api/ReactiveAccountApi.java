@@ -0,0 +1,90 @@
+package com.example.banking.api;
+
+import com.example.banking.dto.accountDto.AccountResponse;
+import com.example.banking.dto.accountDto.TransferRequest;
+import com.example.banking.dto.accountDto.TransferResponse;
+import com.example.banking.money.Money;
+import com.example.banking.service.ReactiveAccountService;
+import com.example.banking.service.idempotency.IdempotencyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reactive/accounts")
+@ConditionalOnProperty(name = "banking.reactive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Tag(name = "reactive account API")
+@Slf4j
+public class ReactiveAccountApi {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final ReactiveAccountService accountService;
+    private final IdempotencyService idempotencyService;
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Метод для получения счета по id без блокировки потока")
+    public Mono<AccountResponse> getAccount(@PathVariable Long id) {
+        log.debug("Реактивный запрос на получение счета {}", id);
+        return accountService.getAccount(id);
+    }
+
+    @GetMapping
+    @Operation(summary = "Метод для получения счетов по email без блокировки потока")
+    public Mono<ResponseEntity<List<AccountResponse>>> getAccountsByEmail(@RequestParam String userEmail) {
+        log.debug("Реактивный запрос на получение счетов по email {}", userEmail);
+        return accountService.getAccountsByUser(userEmail)
+                .collectList()
+                .map(accounts -> accounts.isEmpty()
+                        ? ResponseEntity.notFound().<List<AccountResponse>>build()
+                        : ResponseEntity.ok(accounts));
+    }
+
+    @PatchMapping("/deposit/{id}")
+    @Operation(summary = "Метод для пополнения счета без блокировки потока")
+    public Mono<AccountResponse> deposit(
+            @PathVariable Long id,
+            @RequestParam Money amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        log.debug("Реактивный запрос на пополнение счета {}", id);
+        return idempotent(idempotencyKey, fingerprint("deposit", id, amount), accountService.deposit(id, amount));
+    }
+
+    @PatchMapping("/withDraw/{id}")
+    @Operation(summary = "Метод для снятия со счета без блокировки потока")
+    public Mono<AccountResponse> withDraw(
+            @PathVariable Long id,
+            @RequestParam Money amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        log.debug("Реактивный запрос на снятие со счета {}", id);
+        return idempotent(idempotencyKey, fingerprint("withDraw", id, amount), accountService.withDraw(id, amount));
+    }
+
+    @PostMapping("/transfer")
+    @Operation(summary = "Метод для перевода между счетами без блокировки потока")
+    public Mono<TransferResponse> transfer(@RequestBody TransferRequest transferRequest) {
+        log.debug("Реактивный запрос на перевод со счета {} на счет {}",
+                transferRequest.fromAccountId(), transferRequest.toAccountId());
+        return accountService.transfer(transferRequest);
+    }
+
+    private Mono<AccountResponse> idempotent(String key, String fingerprint, Mono<AccountResponse> action) {
+        if (key == null) {
+            return action;
+        }
+        return Mono.fromCallable(() -> idempotencyService.execute(key, fingerprint, AccountResponse.class, action::block))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private String fingerprint(String operation, Long id, Money amount) {
+        return operation + ":" + id + ":" + (amount == null ? "" : amount.minorUnits());
+    }
+}
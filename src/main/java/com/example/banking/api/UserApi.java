@@ -1,7 +1,9 @@
 package com.example.banking.api;
 
+import com.example.banking.dto.ExportFormat;
 import com.example.banking.dto.SimpleResponse;
 import com.example.banking.dto.userDto.UserAccountResponse;
+import com.example.banking.dto.userDto.UserPageResponse;
 import com.example.banking.dto.userDto.UserRequest;
 import com.example.banking.dto.userDto.UserResponse;
 import com.example.banking.service.UserService;
@@ -10,13 +12,20 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.math.BigDecimal;
 import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 
 
 @RestController
@@ -24,6 +33,7 @@ import java.util.List;
 @RequiredArgsConstructor
 @Tag(name = "user API")
 @Slf4j
+@Validated
 public class UserApi {
     private final UserService userService;
 
@@ -31,7 +41,7 @@ public class UserApi {
     @PostMapping
     @Operation(summary = "Метод для создания новых пользователей")
     public ResponseEntity<UserResponse> createUser(@Valid @RequestBody UserRequest userRequest) {
-        log.info("Запрос на создание пользователя с email: {}", userRequest.email());
+        log.debug("Запрос на создание пользователя с email: {}", userRequest.email());
         UserResponse userResponse = userService.createUser(userRequest);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
@@ -41,10 +51,19 @@ public class UserApi {
         return ResponseEntity.created(location).body(userResponse); // 201 Created
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Метод для массового создания пользователей")
+    public ResponseEntity<List<UserResponse>> createUsers(@RequestBody List<@Valid UserRequest> userRequests) {
+        log.debug("Запрос на массовое создание {} пользователей", userRequests.size());
+        List<UserResponse> userResponses = userService.createUsers(userRequests);
+        log.info("Массово создано {} пользователей", userResponses.size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(userResponses);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Метод для получения пользователя по id")
     public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
-        log.info("Запрос на получение пользователя с id: {} ", id);
+        log.debug("Запрос на получение пользователя с id: {} ", id);
         UserResponse user = userService.getUserById(id);
         log.info("Получен пользователь с id {}", id);
         return ResponseEntity.ok(user);
@@ -53,23 +72,45 @@ public class UserApi {
     @GetMapping("/email")
     @Operation(summary = "Метод для получения пользователя по email")
     public ResponseEntity<UserResponse> getUserByEmail(@RequestParam String email) {
-        log.info("Запрос на получение пользователя с email: {} ", email);
+        log.debug("Запрос на получение пользователя с email: {} ", email);
         UserResponse user = userService.findUserByEmail(email);
         log.info("Получен пользователь с email {}", email);
         return ResponseEntity.ok(user);
     }
 
     @GetMapping("/")
-    @Operation(summary = "Метод для получения всех пользователей")
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        log.info("Запрос на полчение всех пользователей");
-        List<UserResponse> users = userService.getAllUsers();
-        if (users.isEmpty()) {
+    @Operation(summary = "Метод для получения всех пользователей или страницы при указании cursor или size")
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        if (cursor == null && size == null) {
+            log.debug("Запрос на полчение всех пользователей");
+            List<UserResponse> users = userService.getAllUsers();
+            if (users.isEmpty()) {
+                log.warn("Список пользователей пуст");
+                return ResponseEntity.noContent().build();
+            }
+            log.info("Получено {} пользователей", users.size());
+            return ResponseEntity.ok(users);
+        }
+        log.debug("Запрос на полчение страницы пользователей");
+        UserPageResponse page = userService.getUsersPage(cursor, size);
+        if (page.users().isEmpty() && cursor == null) {
             log.warn("Список пользователей пуст");
             return ResponseEntity.noContent().build();
         }
-        log.info("Получены все пользователи");
-        return ResponseEntity.ok(users);
+        log.info("Получено {} пользователей", page.users().size());
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Метод для потоковой выгрузки всех пользователей в NDJSON")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        log.debug("Запрос на потоковую выгрузку пользователей");
+        StreamingResponseBody body = userService::streamAllUsers;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PatchMapping("/{id}")
@@ -77,7 +118,7 @@ public class UserApi {
     public ResponseEntity<UserResponse> updateUser(
             @PathVariable Long id,
             @Valid @RequestBody UserRequest userRequest) {
-        log.info("Запрос на обновление пользователя с id {}", id);
+        log.debug("Запрос на обновление пользователя с id {}", id);
         UserResponse userResponse = userService.updateUser(id, userRequest);
         log.info("Пользователь с id {} обновлен", id);
         return ResponseEntity.ok(userResponse);
@@ -86,7 +127,7 @@ public class UserApi {
     @DeleteMapping("/{id}")
     @Operation(summary = "Метод для удаления пользователя")
     public ResponseEntity<SimpleResponse> deleteUser(@PathVariable Long id) {
-        log.info("Запрос на удаление пользователя с id {}", id);
+        log.debug("Запрос на удаление пользователя с id {}", id);
         SimpleResponse simpleResponse = userService.deleteById(id);
         log.info("Пользователь с id {} был удален", id);
         return ResponseEntity.ok(simpleResponse);
@@ -94,11 +135,39 @@ public class UserApi {
 
     @GetMapping("/above")
     @Operation(summary = "Метод для получения пользователей с балансом выше ")
-    public ResponseEntity<List<UserAccountResponse>> getUsersAbove(@RequestParam BigDecimal amount) {
-        log.info("Запрос на получение пользователей с балансом выше {}", amount);
-        List<UserAccountResponse> allUsersAboveAmount = userService.getAllUsersAboveAmount(amount);
-        log.info("Пользователи с балансом выше {} получены", amount);
-        return ResponseEntity.ok(allUsersAboveAmount);
+    public ResponseEntity<List<UserAccountResponse>> getUsersAbove(
+            @RequestParam BigDecimal amount,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        log.debug("Запрос на получение пользователей с балансом выше {}", amount);
+        if (size == null) {
+            List<UserAccountResponse> allUsersAboveAmount = userService.getAllUsersAboveAmount(amount);
+            log.info("Пользователи с балансом выше {} получены", amount);
+            return ResponseEntity.ok(allUsersAboveAmount);
+        }
+        Slice<UserAccountResponse> slice = userService.getUsersAboveAmountPage(amount, page, size);
+        log.info("Получена страница {} пользователей с балансом выше {}", page, amount);
+        return ResponseEntity.ok()
+                .header("X-Has-Next", String.valueOf(slice.hasNext()))
+                .body(slice.getContent());
+    }
+
+    @GetMapping("/above/export")
+    @Operation(summary = "Метод для потоковой выгрузки пользователей с балансом выше в JSON или CSV")
+    public ResponseEntity<StreamingResponseBody> exportUsersAbove(
+            @RequestParam BigDecimal amount,
+            @RequestParam(defaultValue = "json") String format) {
+        log.debug("Запрос на выгрузку пользователей с балансом выше {} в формате {}", amount, format);
+        ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        StreamingResponseBody body = outputStream ->
+                userService.exportUsersAboveAmount(amount, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(exportFormat == ExportFormat.CSV
+                        ? new MediaType("text", "csv")
+                        : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=users-above." + exportFormat.name().toLowerCase(Locale.ROOT))
+                .body(body);
     }
 
 }
@@ -0,0 +1,49 @@
+package com.example.banking.cache;
+
+import com.example.banking.dto.userDto.UserResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+public class UserEmailCache {
+    private final BoundedTtlCache<String, UserResponse> cache;
+
+    public UserEmailCache(@Value("${banking.cache.user-email.max-size:10000}") int maxSize,
+                          @Value("${banking.cache.user-email.ttl:PT10M}") Duration ttl) {
+        this.cache = new BoundedTtlCache<>(maxSize, ttl);
+    }
+
+    public Optional<UserResponse> get(String email) {
+        return email == null ? Optional.empty() : cache.get(email);
+    }
+
+    public void put(UserResponse user) {
+        if (user.email() != null) {
+            cache.put(user.email(), user);
+        }
+    }
+
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        cache.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(email);
+                }
+            });
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.banking.config;
+
+import com.example.banking.datasource.ReadOnlyRoutingDataSource;
+import com.example.banking.datasource.ReplicaHealthMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "banking.replica.enabled", havingValue = "true")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(@Value("${banking.replica.url}") String url,
+                                              @Value("${banking.replica.username:}") String username,
+                                              @Value("${banking.replica.password:}") String password,
+                                              @Value("${banking.replica.pool-size:10}") int poolSize) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setReadOnly(true);
+        dataSource.setInitializationFailTimeout(-1);
+        log.info("Чтение в транзакциях readOnly направляется на реплику {}", url);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                     @Value("${banking.replica.lag-query}") String lagQuery,
+                                                     @Value("${banking.replica.max-lag:PT5S}") Duration maxLag,
+                                                     @Value("${banking.replica.check-timeout:PT2S}") Duration timeout) {
+        return new ReplicaHealthMonitor(replicaDataSource, lagQuery, maxLag, timeout);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaHealthMonitor replicaHealthMonitor) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadOnlyRoutingDataSource(primaryDataSource, replicaDataSource, replicaHealthMonitor));
+    }
+
+    @Bean
+    public MeterBinder replicaMetrics(ReplicaHealthMonitor replicaHealthMonitor) {
+        return registry -> Gauge.builder("banking.replica.available", replicaHealthMonitor,
+                        monitor -> monitor.isAvailable() ? 1 : 0)
+                .description("Whether read-only transactions are routed to the replica")
+                .register(registry);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.banking.config;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+public class IdAllocationSizeMigration implements JavaMigration {
+    private static final Map<String, String> SEQUENCES = Map.of("users_seq", "users", "accounts_seq", "accounts");
+
+    private final int allocationSize;
+
+    public IdAllocationSizeMigration(int allocationSize) {
+        if (allocationSize < 1) {
+            throw new IllegalArgumentException("banking.ids.allocation-size must be positive");
+        }
+        this.allocationSize = allocationSize;
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return null;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Id allocation size " + allocationSize;
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return allocationSize;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (Map.Entry<String, String> sequence : SEQUENCES.entrySet()) {
+                statement.execute("ALTER SEQUENCE " + sequence.getKey() + " INCREMENT BY " + allocationSize);
+                moveSequencePastIds(statement, sequence.getKey(), sequence.getValue());
+            }
+        }
+    }
+
+    private void moveSequencePastIds(Statement statement, String sequence, String table) throws SQLException {
+        long maxId = queryLong(statement, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+        long next = queryLong(statement, "SELECT nextval('" + sequence + "')");
+        if (next - allocationSize < maxId) {
+            statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + allocationSize));
+        }
+    }
+
+    private long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
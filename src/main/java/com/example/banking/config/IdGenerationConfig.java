@@ -0,0 +1,18 @@
+package com.example.banking.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class IdGenerationConfig {
+
+    @Bean
+    public JavaMigration idAllocationSizeMigration(@Value("${banking.ids.allocation-size:50}") int allocationSize) {
+        log.info("Идентификаторы пользователей и счетов выделяются блоками по {}", allocationSize);
+        return new IdAllocationSizeMigration(allocationSize);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.banking.config;
+
+import com.example.banking.cache.UserEmailCache;
+import com.example.banking.metrics.SqlStatementMetricsInterceptor;
+import com.example.banking.metrics.StatementCountingDataSource;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder userEmailCacheMetrics(UserEmailCache userEmailCache) {
+        return registry -> {
+            Tags tags = Tags.of("cache", "user-email");
+            FunctionCounter.builder("banking.cache.hits", userEmailCache, cache -> cache.stats().hits())
+                    .tags(tags).register(registry);
+            FunctionCounter.builder("banking.cache.misses", userEmailCache, cache -> cache.stats().misses())
+                    .tags(tags).register(registry);
+            FunctionCounter.builder("banking.cache.evictions", userEmailCache, cache -> cache.stats().evictions())
+                    .tags(tags).register(registry);
+            Gauge.builder("banking.cache.size", userEmailCache, cache -> cache.stats().size())
+                    .tags(tags).register(registry);
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor statementCountingPostProcessor() {
+        return new StatementCountingPostProcessor();
+    }
+
+    @Bean
+    public WebMvcConfigurer sqlStatementMetricsConfigurer(MeterRegistry meterRegistry) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new SqlStatementMetricsInterceptor(meterRegistry))
+                        .addPathPatterns("/api/**");
+            }
+        };
+    }
+
+    private static class StatementCountingPostProcessor implements BeanPostProcessor, Ordered {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                    ? new StatementCountingDataSource(dataSource)
+                    : bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
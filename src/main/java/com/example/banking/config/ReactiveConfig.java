@@ -0,0 +1,65 @@
+package com.example.banking.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+@Configuration
+@ConditionalOnProperty(name = "banking.reactive.enabled", havingValue = "true")
+@Slf4j
+public class ReactiveConfig {
+    // Not a bean: DataSourceAutoConfiguration backs off when a ConnectionFactory bean exists
+    private final ConnectionPool connectionPool;
+
+    public ReactiveConfig(@Value("${banking.reactive.r2dbc.url}") String url,
+                          @Value("${banking.reactive.r2dbc.username:}") String username,
+                          @Value("${banking.reactive.r2dbc.password:}") String password,
+                          @Value("${banking.reactive.r2dbc.pool-size:20}") int poolSize,
+                          @Value("${banking.deposit.mode:sync}") String depositMode,
+                          @Value("${banking.hot-accounts.enabled:false}") boolean hotAccountsEnabled) {
+        if ("wal".equals(depositMode) || hotAccountsEnabled) {
+            throw new IllegalStateException("Реактивный API счетов несовместим с banking.deposit.mode=wal "
+                    + "и banking.hot-accounts.enabled=true: пополнения прошли бы мимо журнала депозитов "
+                    + "и объединения горячих счетов");
+        }
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("reactive")
+                .initialSize(1)
+                .maxSize(poolSize)
+                .build());
+        log.info("Реактивный API счетов подключен к {}", url);
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.banking.config;
+
+import com.example.banking.datasource.ConnectionAdmissionDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(name = "banking.execution.mode", havingValue = "virtual")
+@Slf4j
+public class VirtualThreadConfig {
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Обработка запросов выполняется на виртуальных потоках");
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionAdmissionPostProcessor() {
+        return new ConnectionAdmissionPostProcessor();
+    }
+
+    private static class ConnectionAdmissionPostProcessor implements BeanPostProcessor, Ordered {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource hikari) {
+                int maxConnections = hikari.getMaximumPoolSize() > 0
+                        ? hikari.getMaximumPoolSize()
+                        : HIKARI_DEFAULT_POOL_SIZE;
+                return new ConnectionAdmissionDataSource(hikari, maxConnections, hikari.getConnectionTimeout());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.banking.config;
+
+import com.example.banking.service.wal.WriteAheadLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@ConditionalOnProperty(name = "banking.deposit.mode", havingValue = "wal")
+@Slf4j
+public class WalConfig {
+
+    @Bean(destroyMethod = "close")
+    public WriteAheadLog writeAheadLog(@Value("${banking.wal.directory:data/wal}") Path directory,
+                                       @Value("${banking.wal.segment-size:67108864}") int segmentSize,
+                                       @Value("${banking.wal.max-pending:100000}") int maxPending) throws IOException {
+        log.info("Депозиты подтверждаются после записи в журнал {}", directory.toAbsolutePath());
+        return new WriteAheadLog(directory, segmentSize, maxPending);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.banking.datasource;
+
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
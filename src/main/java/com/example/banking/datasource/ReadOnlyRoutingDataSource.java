@@ -0,0 +1,27 @@
+package com.example.banking.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+    private final ReplicaHealthMonitor replicaHealthMonitor;
+
+    public ReadOnlyRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealthMonitor replicaHealthMonitor) {
+        this.replicaHealthMonitor = replicaHealthMonitor;
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaHealthMonitor.isAvailable()) {
+            return DataSourceRoute.REPLICA;
+        }
+        return DataSourceRoute.PRIMARY;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.banking.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+@Slf4j
+public class ReplicaHealthMonitor {
+    private final DataSource replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final int timeoutSeconds;
+    private volatile boolean available;
+    private volatile Duration lastLag;
+
+    public ReplicaHealthMonitor(DataSource replica, String lagQuery, Duration maxLag, Duration timeout) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public Duration lastLag() {
+        return lastLag;
+    }
+
+    @Scheduled(fixedDelayString = "${banking.replica.check-interval:PT5S}")
+    public void check() {
+        boolean wasAvailable = available;
+        try {
+            Duration lag = measureLag();
+            lastLag = lag;
+            available = lag.compareTo(maxLag) <= 0;
+            if (!available && wasAvailable) {
+                log.warn("Отставание реплики {} превышает допустимое {}, чтение переключено на основную базу", lag, maxLag);
+            }
+        } catch (SQLException | RuntimeException e) {
+            lastLag = null;
+            available = false;
+            if (wasAvailable) {
+                log.warn("Реплика недоступна, чтение переключено на основную базу: {}", e.getMessage());
+            }
+        }
+        if (available && !wasAvailable) {
+            log.info("Реплика доступна, отставание {}", lastLag);
+        }
+    }
+
+    private Duration measureLag() throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(timeoutSeconds);
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    throw new SQLException("Запрос отставания реплики не вернул строк");
+                }
+                double seconds = resultSet.getDouble(1);
+                return Duration.ofMillis(Math.round(Math.max(0, seconds) * 1000));
+            }
+        }
+    }
+}
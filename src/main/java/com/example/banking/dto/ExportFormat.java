@@ -0,0 +1,6 @@
+package com.example.banking.dto;
+
+public enum ExportFormat {
+    JSON,
+    CSV
+}
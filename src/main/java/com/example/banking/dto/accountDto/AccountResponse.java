@@ -1,7 +1,7 @@
 package com.example.banking.dto.accountDto;
 
-import java.math.BigDecimal;
+import com.example.banking.money.Money;
 
 
-public record AccountResponse (Long id, String accountNumber, BigDecimal amount) {
+public record AccountResponse (Long id, String accountNumber, Money amount) {
 }
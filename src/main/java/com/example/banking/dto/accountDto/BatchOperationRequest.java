@@ -0,0 +1,6 @@
+package com.example.banking.dto.accountDto;
+
+import com.example.banking.money.Money;
+
+public record BatchOperationRequest(Long accountId, OperationType type, Money amount) {
+}
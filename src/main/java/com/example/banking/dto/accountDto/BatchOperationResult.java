@@ -0,0 +1,4 @@
+package com.example.banking.dto.accountDto;
+
+public record BatchOperationResult(int index, Long accountId, BatchOperationStatus status) {
+}
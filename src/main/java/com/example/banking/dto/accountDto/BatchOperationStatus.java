@@ -0,0 +1,8 @@
+package com.example.banking.dto.accountDto;
+
+public enum BatchOperationStatus {
+    APPLIED,
+    INSUFFICIENT_BALANCE,
+    ACCOUNT_NOT_FOUND,
+    INVALID
+}
@@ -0,0 +1,6 @@
+package com.example.banking.dto.accountDto;
+
+import java.util.List;
+
+public record BatchResponse(int applied, int rejected, List<BatchOperationResult> results) {
+}
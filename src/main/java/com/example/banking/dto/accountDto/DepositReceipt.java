@@ -0,0 +1,6 @@
+package com.example.banking.dto.accountDto;
+
+import com.example.banking.money.Money;
+
+public record DepositReceipt(long sequence, Long accountId, Money amount) {
+}
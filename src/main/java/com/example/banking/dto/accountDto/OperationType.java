@@ -0,0 +1,6 @@
+package com.example.banking.dto.accountDto;
+
+public enum OperationType {
+    DEPOSIT,
+    WITHDRAW
+}
@@ -0,0 +1,4 @@
+package com.example.banking.dto.accountDto;
+
+public record TransferResponse(AccountResponse from, AccountResponse to) {
+}
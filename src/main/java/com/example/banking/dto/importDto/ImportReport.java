@@ -0,0 +1,6 @@
+package com.example.banking.dto.importDto;
+
+import java.util.List;
+
+public record ImportReport(long processed, long imported, long failed, long durationMs, List<ImportRowError> errors) {
+}
@@ -0,0 +1,4 @@
+package com.example.banking.dto.importDto;
+
+public record ImportRowError(long line, String message) {
+}
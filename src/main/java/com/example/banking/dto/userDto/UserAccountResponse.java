@@ -1,6 +1,7 @@
 package com.example.banking.dto.userDto;
 
-import java.math.BigDecimal;
+import com.example.banking.money.Money;
+
 import java.time.LocalDate;
 
 public record UserAccountResponse(
@@ -9,6 +10,6 @@ public record UserAccountResponse(
         String email,
         LocalDate registrationDate,
         String accountNumber,
-        BigDecimal amount
+        Money amount
 ) {
 }
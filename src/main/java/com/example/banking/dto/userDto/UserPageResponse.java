@@ -0,0 +1,6 @@
+package com.example.banking.dto.userDto;
+
+import java.util.List;
+
+public record UserPageResponse(List<UserResponse> users, String nextCursor) {
+}
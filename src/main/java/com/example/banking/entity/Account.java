@@ -1,20 +1,27 @@
 package com.example.banking.entity;
 
 import jakarta.persistence.*;
+import com.example.banking.money.Money;
 import lombok.Data;
-
-import java.math.BigDecimal;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Entity
 @Data
 @Table(name = "accounts")
 public class Account {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq")
     private Long id;
     private String accountNumber;
-    private BigDecimal balance;
-    @ManyToOne
+    @Column(nullable = false)
+    private Money balance;
+    @Version
+    private Long version;
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 }
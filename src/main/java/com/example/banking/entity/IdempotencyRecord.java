@@ -0,0 +1,24 @@
+package com.example.banking.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+    @Column(nullable = false)
+    private String fingerprint;
+    @Column(columnDefinition = "text")
+    private String responseBody;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private IdempotencyStatus status;
+    @Column(nullable = false)
+    private Instant createdAt;
+}
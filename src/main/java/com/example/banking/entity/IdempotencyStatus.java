@@ -0,0 +1,6 @@
+package com.example.banking.entity;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,7 @@
+package com.example.banking.exception;
+
+public class InsufficientBalanceException extends IllegalArgumentException {
+    public InsufficientBalanceException(Long id) {
+        super("Insufficient balance on account with id: " + id);
+    }
+}
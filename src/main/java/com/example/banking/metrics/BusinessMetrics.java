@@ -0,0 +1,43 @@
+package com.example.banking.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BusinessMetrics {
+    private final Counter insufficientBalance;
+    private final Counter duplicateEmail;
+    private final Counter userNotFound;
+    private final Counter accountNotFound;
+
+    public BusinessMetrics(MeterRegistry meterRegistry) {
+        this.insufficientBalance = outcome(meterRegistry, "insufficient_balance");
+        this.duplicateEmail = outcome(meterRegistry, "duplicate_email");
+        this.userNotFound = outcome(meterRegistry, "user_not_found");
+        this.accountNotFound = outcome(meterRegistry, "account_not_found");
+    }
+
+    public void insufficientBalance() {
+        insufficientBalance.increment();
+    }
+
+    public void duplicateEmail() {
+        duplicateEmail.increment();
+    }
+
+    public void userNotFound() {
+        userNotFound.increment();
+    }
+
+    public void accountNotFound() {
+        accountNotFound.increment();
+    }
+
+    private Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("banking.business.outcomes")
+                .description("Rejected business operations by reason")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.banking.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class SqlStatementCounter {
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int current() {
+        return COUNT.get()[0];
+    }
+
+    public static void startRecording() {
+        RECORDED.set(new ArrayList<>());
+    }
+
+    public static List<String> stopRecording() {
+        List<String> recorded = RECORDED.get();
+        RECORDED.remove();
+        return recorded == null ? List.of() : recorded;
+    }
+
+    static void increment() {
+        COUNT.get()[0]++;
+    }
+
+    static void record(String sql) {
+        List<String> recorded = RECORDED.get();
+        if (recorded != null) {
+            recorded.add(sql);
+        }
+    }
+}
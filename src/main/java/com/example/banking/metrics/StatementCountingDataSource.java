@@ -0,0 +1,72 @@
+package com.example.banking.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+public class StatementCountingDataSource extends DelegatingDataSource {
+    private static final Set<String> EXECUTIONS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection(), StatementCountingDataSource::onConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password),
+                StatementCountingDataSource::onConnection);
+    }
+
+    private static Object onConnection(Method method, Object[] args, Object result) {
+        if (!(result instanceof Statement statement)) {
+            return result;
+        }
+        if (method.getName().startsWith("prepare") && args != null && args[0] instanceof String sql) {
+            SqlStatementCounter.record(sql);
+        }
+        return proxy(method.getReturnType(), statement, StatementCountingDataSource::onStatement);
+    }
+
+    private static Object onStatement(Method method, Object[] args, Object result) {
+        if (EXECUTIONS.contains(method.getName())) {
+            SqlStatementCounter.increment();
+            if (args != null && args.length > 0 && args[0] instanceof String sql) {
+                SqlStatementCounter.record(sql);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Object target, Callback callback) {
+        return (T) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    try {
+                        return callback.handle(method, args, method.invoke(target, args));
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface Callback {
+        Object handle(Method method, Object[] args, Object result);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.banking.repository;
+
+import com.example.banking.dto.accountDto.AccountResponse;
+import com.example.banking.money.Money;
+import com.example.banking.service.journal.TransactionType;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+@ConditionalOnProperty(name = "banking.reactive.enabled", havingValue = "true")
+public class AccountR2dbcRepository {
+    private static final String SELECT_BY_ID = """
+            SELECT id, account_number, balance FROM accounts WHERE id = :id
+            """;
+    private static final String SELECT_BY_USER_EMAIL = """
+            SELECT a.id, a.account_number, a.balance
+            FROM accounts a
+            JOIN users u ON u.id = a.user_id
+            WHERE u.email = :email
+            """;
+    private static final String EXISTS_BY_ID = """
+            SELECT 1 FROM accounts WHERE id = :id
+            """;
+    private static final String ADD_TO_BALANCE = """
+            UPDATE accounts SET balance = balance + :amount, version = version + 1
+            WHERE id = :id
+            """;
+    private static final String SUBTRACT_FROM_BALANCE = """
+            UPDATE accounts SET balance = balance - :amount, version = version + 1
+            WHERE id = :id AND balance >= :amount
+            """;
+    private static final String INSERT_JOURNAL_ENTRY = """
+            INSERT INTO account_transactions (account_id, amount, transaction_type, created_at)
+            VALUES (:accountId, :amount, :type, :createdAt)
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public AccountR2dbcRepository(DatabaseClient reactiveDatabaseClient) {
+        this.databaseClient = reactiveDatabaseClient;
+    }
+
+    public Mono<AccountResponse> findById(Long id) {
+        return databaseClient.sql(SELECT_BY_ID)
+                .bind("id", id)
+                .map(AccountR2dbcRepository::mapRow)
+                .one();
+    }
+
+    public Flux<AccountResponse> findByUserEmail(String email) {
+        return databaseClient.sql(SELECT_BY_USER_EMAIL)
+                .bind("email", email)
+                .map(AccountR2dbcRepository::mapRow)
+                .all();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql(EXISTS_BY_ID)
+                .bind("id", id)
+                .fetch()
+                .first()
+                .hasElement();
+    }
+
+    public Mono<Long> addToBalance(Long id, Money amount) {
+        return databaseClient.sql(ADD_TO_BALANCE)
+                .bind("amount", amount.minorUnits())
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> subtractFromBalance(Long id, Money amount) {
+        return databaseClient.sql(SUBTRACT_FROM_BALANCE)
+                .bind("amount", amount.minorUnits())
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> appendJournalEntry(Long accountId, Money amount, TransactionType type) {
+        return databaseClient.sql(INSERT_JOURNAL_ENTRY)
+                .bind("accountId", accountId)
+                .bind("amount", amount.toBigDecimal())
+                .bind("type", type.name())
+                .bind("createdAt", LocalDateTime.now())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static AccountResponse mapRow(Row row, RowMetadata metadata) {
+        return new AccountResponse(
+                row.get("id", Long.class),
+                row.get("account_number", String.class),
+                Money.ofMinor(row.get("balance", Long.class))
+        );
+    }
+}
@@ -1,22 +1,63 @@
 package com.example.banking.repository;
 
+import com.example.banking.dto.accountDto.AccountResponse;
 import com.example.banking.entity.Account;
 import com.example.banking.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     List<Account> findAccountsByUser(User user);
 
-    List<Account> findAccountsByUser_Email(String userEmail);
+    @Query("""
+                    SELECT a FROM Account a
+                    JOIN a.user u
+                    WHERE u.email = :userEmail
+            """)
+    List<Account> findAccountsByUser_Email(@Param("userEmail") String userEmail);
+
+    @Query("SELECT a.accountNumber FROM Account a WHERE a.accountNumber IN :accountNumbers")
+    List<String> findExistingAccountNumbers(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    @Query("""
+                    SELECT new com.example.banking.dto.accountDto.AccountResponse(a.id, a.accountNumber, a.balance)
+                    FROM Account a
+                    WHERE a.user.email = :email
+            """)
+    List<AccountResponse> findAccountResponsesByUserEmail(@Param("email") String email);
+
+    @Query(value = """
+                    SELECT CAST(COALESCE(SUM(balance), 0) AS BIGINT) FROM accounts
+            """, nativeQuery = true)
+    long findTotalBalance();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+                    UPDATE accounts SET balance = balance + :amount, version = version + 1
+                    WHERE id = :id
+            """, nativeQuery = true)
+    int addToBalance(@Param("id") Long id, @Param("amount") long amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+                    UPDATE accounts SET balance = balance - :amount, version = version + 1
+                    WHERE id = :id AND balance >= :amount
+            """, nativeQuery = true)
+    int subtractFromBalance(@Param("id") Long id, @Param("amount") long amount);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("""
-                    SELECT sum(a.balance) FROM Account a
+                    SELECT a FROM Account a WHERE a.id = :id
             """)
-    BigDecimal findTotalBalance();
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
 }
@@ -0,0 +1,53 @@
+package com.example.banking.repository;
+
+import com.example.banking.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") Instant before);
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.createdAt < :before")
+    int deleteExpired(@Param("key") String key, @Param("before") Instant before);
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = """
+                    INSERT INTO idempotency_keys (idempotency_key, fingerprint, status, created_at)
+                    VALUES (:key, :fingerprint, 'IN_PROGRESS', :createdAt)
+            """, nativeQuery = true)
+    int reserve(@Param("key") String key,
+                @Param("fingerprint") String fingerprint,
+                @Param("createdAt") Instant createdAt);
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("""
+                    UPDATE IdempotencyRecord r
+                    SET r.responseBody = :responseBody,
+                        r.status = com.example.banking.entity.IdempotencyStatus.COMPLETED
+                    WHERE r.key = :key
+            """)
+    int complete(@Param("key") String key, @Param("responseBody") String responseBody);
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("""
+                    DELETE FROM IdempotencyRecord r
+                    WHERE r.key = :key AND r.status = com.example.banking.entity.IdempotencyStatus.IN_PROGRESS
+            """)
+    int release(@Param("key") String key);
+}
@@ -0,0 +1,38 @@
+package com.example.banking.repository;
+
+import com.example.banking.dto.userDto.UserResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.util.function.Consumer;
+
+@Repository
+public class UserJdbcRepository {
+    private static final String SELECT_ALL_USERS = """
+            SELECT id, name, email, registration_date FROM users ORDER BY id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserJdbcRepository(DataSource dataSource,
+                              @Value("${banking.users.stream-fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public void streamAll(Consumer<UserResponse> consumer) {
+        jdbcTemplate.query(SELECT_ALL_USERS, (RowCallbackHandler) rs -> {
+            Date registrationDate = rs.getDate("registration_date");
+            consumer.accept(new UserResponse(
+                    rs.getLong("id"),
+                    rs.getString("name"),
+                    rs.getString("email"),
+                    registrationDate == null ? null : registrationDate.toLocalDate()
+            ));
+        });
+    }
+}
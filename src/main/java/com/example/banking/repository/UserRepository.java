@@ -1,15 +1,23 @@
 package com.example.banking.repository;
 
 import com.example.banking.dto.userDto.UserAccountResponse;
+import com.example.banking.dto.userDto.UserResponse;
 import com.example.banking.entity.User;
+import com.example.banking.money.Money;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -19,6 +27,55 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
+    List<User> findByEmailIn(Collection<String> emails);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("""
+                SELECT new com.example.banking.dto.userDto.UserResponse(
+                    u.id, u.name, u.email, u.registrationDate
+                )
+                FROM User u
+                WHERE u.id = :id
+            """)
+    Optional<UserResponse> findResponseById(@Param("id") Long id);
+
+    @Query("""
+                SELECT new com.example.banking.dto.userDto.UserResponse(
+                    u.id, u.name, u.email, u.registrationDate
+                )
+                FROM User u
+                WHERE u.email = :email
+            """)
+    Optional<UserResponse> findResponseByEmail(@Param("email") String email);
+
+    @Query("""
+                SELECT new com.example.banking.dto.userDto.UserAccountResponse(
+                    u.id, u.name, u.email, u.registrationDate, a.accountNumber, a.balance
+                )
+                FROM User u
+                JOIN u.accounts a
+                WHERE a.balance > :minBalance
+            """)
+    List<UserAccountResponse> findUsersWithAllAccountsAbove(@Param("minBalance") Money minBalance);
+
+    @Query("""
+                SELECT new com.example.banking.dto.userDto.UserAccountResponse(
+                    u.id, u.name, u.email, u.registrationDate, a.accountNumber, a.balance
+                )
+                FROM User u
+                JOIN u.accounts a
+                WHERE a.balance > :minBalance
+                ORDER BY a.id
+            """)
+    Slice<UserAccountResponse> findUsersWithAccountsAbove(@Param("minBalance") Money minBalance,
+                                                          Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("""
                 SELECT new com.example.banking.dto.userDto.UserAccountResponse(
                     u.id, u.name, u.email, u.registrationDate, a.accountNumber, a.balance
@@ -27,7 +84,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
                 JOIN u.accounts a
                 WHERE a.balance > :minBalance
             """)
-    List<UserAccountResponse> findUsersWithAllAccountsAbove(@Param("minBalance") BigDecimal minBalance);
+    Stream<UserAccountResponse> streamUsersWithAccountsAbove(@Param("minBalance") Money minBalance);
+
+    @Query("""
+                SELECT new com.example.banking.dto.userDto.UserResponse(
+                    u.id, u.name, u.email, u.registrationDate
+                )
+                FROM User u
+                ORDER BY u.id
+            """)
+    List<UserResponse> findAllResponses();
+
+    @Query("""
+                SELECT new com.example.banking.dto.userDto.UserResponse(
+                    u.id, u.name, u.email, u.registrationDate
+                )
+                FROM User u
+                WHERE u.id > :afterId
+                ORDER BY u.id
+            """)
+    List<UserResponse> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
 
     @Query("""
                         SELECT u FROM User u WHERE u.email = :email
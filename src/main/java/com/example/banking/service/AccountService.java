@@ -3,23 +3,39 @@ package com.example.banking.service;
 import com.example.banking.dto.SimpleResponse;
 import com.example.banking.dto.accountDto.AccountRequest;
 import com.example.banking.dto.accountDto.AccountResponse;
+import com.example.banking.dto.accountDto.BatchOperationRequest;
+import com.example.banking.dto.accountDto.BatchResponse;
+import com.example.banking.dto.accountDto.TransferRequest;
+import com.example.banking.dto.accountDto.TransferResponse;
+import com.example.banking.money.Money;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 public interface AccountService {
 
     AccountResponse createAccount(AccountRequest accountRequest);
 
-    AccountResponse deposit(Long id, BigDecimal amount);
+    List<AccountResponse> createAccounts(List<AccountRequest> accountRequests);
 
-    AccountResponse withDraw(Long id, BigDecimal amount);
+    AccountResponse deposit(Long id, Money amount);
+
+    AccountResponse withDraw(Long id, Money amount);
+
+    TransferResponse transfer(TransferRequest transferRequest);
 
     List<AccountResponse> getAccountsByUser(String userEmail);
 
     SimpleResponse deleteById(Long id);
 
-    BigDecimal findTotalBalance();
+    Money findTotalBalance();
+
+    List<AccountResponse> getTopAccounts(int limit);
+
+    List<AccountResponse> getAccountsInRange(Money minBalance, Money maxBalance, int limit);
+
+    Money reconstructBalance(Long id);
+
+    BatchResponse applyBatch(List<BatchOperationRequest> operations);
 
 
 
@@ -0,0 +1,21 @@
+package com.example.banking.service;
+
+import com.example.banking.dto.accountDto.AccountResponse;
+import com.example.banking.dto.accountDto.TransferRequest;
+import com.example.banking.dto.accountDto.TransferResponse;
+import com.example.banking.money.Money;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAccountService {
+
+    Mono<AccountResponse> getAccount(Long id);
+
+    Flux<AccountResponse> getAccountsByUser(String userEmail);
+
+    Mono<AccountResponse> deposit(Long id, Money amount);
+
+    Mono<AccountResponse> withDraw(Long id, Money amount);
+
+    Mono<TransferResponse> transfer(TransferRequest transferRequest);
+}
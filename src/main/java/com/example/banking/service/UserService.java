@@ -1,10 +1,14 @@
 package com.example.banking.service;
 
+import com.example.banking.dto.ExportFormat;
 import com.example.banking.dto.SimpleResponse;
 import com.example.banking.dto.userDto.UserAccountResponse;
+import com.example.banking.dto.userDto.UserPageResponse;
 import com.example.banking.dto.userDto.UserRequest;
 import com.example.banking.dto.userDto.UserResponse;
+import org.springframework.data.domain.Slice;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -12,10 +16,16 @@ public interface UserService {
 
     UserResponse createUser(UserRequest userRequest);
 
+    List<UserResponse> createUsers(List<UserRequest> userRequests);
+
     UserResponse getUserById(Long id);
 
     List<UserResponse> getAllUsers();
 
+    UserPageResponse getUsersPage(String cursor, Integer size);
+
+    void streamAllUsers(OutputStream outputStream);
+
     UserResponse getUserByEmail(String email);
 
     UserResponse updateUser(Long id, UserRequest userRequest);
@@ -24,6 +34,10 @@ public interface UserService {
 
     List<UserAccountResponse> getAllUsersAboveAmount(BigDecimal amount);
 
+    Slice<UserAccountResponse> getUsersAboveAmountPage(BigDecimal amount, int page, int size);
+
+    void exportUsersAboveAmount(BigDecimal amount, ExportFormat format, OutputStream outputStream);
+
     UserResponse findUserByEmail(String email);
 
 }
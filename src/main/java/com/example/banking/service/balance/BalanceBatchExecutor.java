@@ -0,0 +1,204 @@
+package com.example.banking.service.balance;
+
+import com.example.banking.dto.accountDto.BatchOperationRequest;
+import com.example.banking.dto.accountDto.BatchOperationResult;
+import com.example.banking.dto.accountDto.BatchOperationStatus;
+import com.example.banking.dto.accountDto.BatchResponse;
+import com.example.banking.dto.accountDto.OperationType;
+import com.example.banking.metrics.BusinessMetrics;
+import com.example.banking.money.Money;
+import com.example.banking.service.journal.TransactionJournal;
+import com.example.banking.service.journal.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+@Slf4j
+public class BalanceBatchExecutor {
+    private static final String UPDATE_BALANCE = """
+            UPDATE accounts SET balance = balance + ?, version = version + 1
+            WHERE id = ? AND balance + ? >= 0
+            """;
+    private static final String SELECT_EXISTING_IDS = """
+            SELECT id FROM accounts WHERE id IN (:ids)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BusinessMetrics businessMetrics;
+    private final TransactionJournal transactionJournal;
+    private final HotAccountCoalescer hotAccountCoalescer;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int jdbcBatchSize;
+    private final int maxOperations;
+
+    public BalanceBatchExecutor(JdbcTemplate jdbcTemplate,
+                                NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                BusinessMetrics businessMetrics,
+                                TransactionJournal transactionJournal,
+                                HotAccountCoalescer hotAccountCoalescer,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${banking.batch.chunk-size:0}") int chunkSize,
+                                @Value("${banking.batch.jdbc-batch-size:500}") int jdbcBatchSize,
+                                @Value("${banking.batch.max-operations:10000}") int maxOperations) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.businessMetrics = businessMetrics;
+        this.transactionJournal = transactionJournal;
+        this.hotAccountCoalescer = hotAccountCoalescer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.jdbcBatchSize = jdbcBatchSize;
+        this.maxOperations = maxOperations;
+    }
+
+    public BatchResponse execute(List<BatchOperationRequest> operations) {
+        if (operations.size() > maxOperations) {
+            throw new IllegalArgumentException("Batch size exceeds limit: " + maxOperations);
+        }
+        BatchOperationStatus[] statuses = new BatchOperationStatus[operations.size()];
+        List<Integer> valid = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            if (isValid(operations.get(i))) {
+                valid.add(i);
+                if (operations.get(i).type() == OperationType.WITHDRAW) {
+                    hotAccountCoalescer.flush(operations.get(i).accountId());
+                }
+            } else {
+                statuses[i] = BatchOperationStatus.INVALID;
+            }
+        }
+
+        int step = chunkSize > 0 ? chunkSize : Math.max(valid.size(), 1);
+        for (int from = 0; from < valid.size(); from += step) {
+            List<Integer> chunk = valid.subList(from, Math.min(from + step, valid.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        applyChunk(operations, chunk, statuses, batchCounts(operations, chunk)));
+            } catch (UnknownUpdateCountException e) {
+                log.warn("Драйвер не сообщил число обновленных строк, пакет из {} операций повторен по одной",
+                        chunk.size());
+                transactionTemplate.executeWithoutResult(status ->
+                        applyChunk(operations, chunk, statuses, rowCounts(operations, chunk)));
+            }
+        }
+
+        List<BatchOperationResult> results = new ArrayList<>(operations.size());
+        int applied = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            if (statuses[i] == BatchOperationStatus.APPLIED) {
+                applied++;
+            }
+            BatchOperationRequest operation = operations.get(i);
+            results.add(new BatchOperationResult(i, operation == null ? null : operation.accountId(), statuses[i]));
+        }
+        log.info("Пакет из {} операций обработан, применено {}", operations.size(), applied);
+        return new BatchResponse(applied, operations.size() - applied, results);
+    }
+
+    private int[] batchCounts(List<BatchOperationRequest> operations, List<Integer> chunk) {
+        int[][] batches = jdbcTemplate.batchUpdate(UPDATE_BALANCE, chunk, jdbcBatchSize, (ps, index) -> {
+            BatchOperationRequest operation = operations.get(index);
+            long delta = signedAmount(operation).minorUnits();
+            ps.setLong(1, delta);
+            ps.setLong(2, operation.accountId());
+            ps.setLong(3, delta);
+        });
+        int[] counts = new int[chunk.size()];
+        int position = 0;
+        for (int[] batch : batches) {
+            for (int count : batch) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    throw new UnknownUpdateCountException();
+                }
+                counts[position++] = count;
+            }
+        }
+        return counts;
+    }
+
+    private int[] rowCounts(List<BatchOperationRequest> operations, List<Integer> chunk) {
+        int[] counts = new int[chunk.size()];
+        for (int position = 0; position < chunk.size(); position++) {
+            BatchOperationRequest operation = operations.get(chunk.get(position));
+            long delta = signedAmount(operation).minorUnits();
+            counts[position] = jdbcTemplate.update(UPDATE_BALANCE, delta, operation.accountId(), delta);
+        }
+        return counts;
+    }
+
+    private void applyChunk(List<BatchOperationRequest> operations,
+                            List<Integer> chunk,
+                            BatchOperationStatus[] statuses,
+                            int[] counts) {
+        List<Integer> rejected = new ArrayList<>();
+        Map<Long, Money> deltas = new HashMap<>();
+        for (int position = 0; position < chunk.size(); position++) {
+            int index = chunk.get(position);
+            if (counts[position] > 0) {
+                statuses[index] = BatchOperationStatus.APPLIED;
+                BatchOperationRequest operation = operations.get(index);
+                deltas.merge(operation.accountId(), signedAmount(operation), Money::plus);
+                transactionJournal.record(operation.accountId(), signedAmount(operation),
+                        operation.type() == OperationType.WITHDRAW
+                                ? TransactionType.WITHDRAWAL
+                                : TransactionType.DEPOSIT);
+            } else {
+                rejected.add(index);
+            }
+        }
+        deltas.forEach((accountId, delta) -> eventPublisher.publishEvent(new BalanceChangedEvent(accountId, delta)));
+        if (rejected.isEmpty()) {
+            return;
+        }
+
+        Set<Long> rejectedIds = new HashSet<>();
+        rejected.forEach(index -> rejectedIds.add(operations.get(index).accountId()));
+        Set<Long> existing = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                SELECT_EXISTING_IDS, Map.of("ids", rejectedIds), Long.class));
+        for (int index : rejected) {
+            if (existing.contains(operations.get(index).accountId())) {
+                statuses[index] = BatchOperationStatus.INSUFFICIENT_BALANCE;
+                businessMetrics.insufficientBalance();
+            } else {
+                statuses[index] = BatchOperationStatus.ACCOUNT_NOT_FOUND;
+                businessMetrics.accountNotFound();
+            }
+        }
+    }
+
+    private boolean isValid(BatchOperationRequest operation) {
+        return operation != null
+                && operation.accountId() != null
+                && operation.type() != null
+                && operation.amount() != null
+                && operation.amount().signum() > 0;
+    }
+
+    private Money signedAmount(BatchOperationRequest operation) {
+        return operation.type() == OperationType.WITHDRAW
+                ? operation.amount().negate()
+                : operation.amount();
+    }
+
+    private static class UnknownUpdateCountException extends RuntimeException {
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.banking.service.balance;
+
+import com.example.banking.money.Money;
+
+public record BalanceChangedEvent(Long accountId, Money delta) {
+}
@@ -0,0 +1,179 @@
+package com.example.banking.service.balance;
+
+import com.example.banking.entity.Account;
+import com.example.banking.exception.AccountNotFoundException;
+import com.example.banking.exception.InsufficientBalanceException;
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.service.journal.TransactionJournal;
+import com.example.banking.service.journal.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+public class BalanceEngine {
+    private final AccountRepository accountRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionJournal transactionJournal;
+    private final HotAccountCoalescer hotAccountCoalescer;
+    private final TransactionTemplate transactionTemplate;
+    private final BalanceUpdateStrategy defaultStrategy;
+    private final int optimisticMaxRetries;
+
+    public BalanceEngine(AccountRepository accountRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         TransactionJournal transactionJournal,
+                         HotAccountCoalescer hotAccountCoalescer,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${banking.balance.strategy:ATOMIC}") BalanceUpdateStrategy defaultStrategy,
+                         @Value("${banking.balance.optimistic-max-retries:5}") int optimisticMaxRetries) {
+        this.accountRepository = accountRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionJournal = transactionJournal;
+        this.hotAccountCoalescer = hotAccountCoalescer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultStrategy = defaultStrategy;
+        this.optimisticMaxRetries = optimisticMaxRetries;
+        log.info("Стратегия изменения баланса: {}", defaultStrategy);
+    }
+
+    public Account deposit(Long id, Money amount) {
+        requirePositive(amount);
+        if (hotAccountCoalescer.offer(id, amount)) {
+            return hotAccountCoalescer.withPending(id, pending -> {
+                Account account = findById(id);
+                account.setBalance(account.getBalance().plus(pending));
+                return account;
+            });
+        }
+        return apply(id, amount, defaultStrategy, TransactionType.DEPOSIT);
+    }
+
+    public Account withDraw(Long id, Money amount) {
+        requirePositive(amount);
+        hotAccountCoalescer.flush(id);
+        return apply(id, amount.negate(), defaultStrategy, TransactionType.WITHDRAWAL);
+    }
+
+    public Transfer transfer(Long fromId, Long toId, Money amount) {
+        requirePositive(amount);
+        if (fromId == null || toId == null) {
+            throw new IllegalArgumentException("Both accounts must be specified");
+        }
+        if (fromId.equals(toId)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        hotAccountCoalescer.flush(fromId);
+        return transactionTemplate.execute(status -> {
+            Long firstId = fromId < toId ? fromId : toId;
+            Long secondId = fromId < toId ? toId : fromId;
+            Account first = lockById(firstId);
+            Account second = lockById(secondId);
+            Account from = first.getId().equals(fromId) ? first : second;
+            Account to = from == first ? second : first;
+            applyTo(from, amount.negate(), TransactionType.TRANSFER_OUT);
+            applyTo(to, amount, TransactionType.TRANSFER_IN);
+            return new Transfer(from, to);
+        });
+    }
+
+    public Account apply(Long id, Money delta, BalanceUpdateStrategy strategy) {
+        if (delta.signum() < 0) {
+            hotAccountCoalescer.flush(id);
+        }
+        return apply(id, delta, strategy, delta.signum() < 0 ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT);
+    }
+
+    private Account apply(Long id, Money delta, BalanceUpdateStrategy strategy, TransactionType type) {
+        return switch (strategy) {
+            case ATOMIC -> transactionTemplate.execute(status -> applyAtomic(id, delta, type));
+            case PESSIMISTIC -> transactionTemplate.execute(status -> applyLocked(id, delta, type));
+            case OPTIMISTIC -> applyOptimistic(id, delta, type);
+        };
+    }
+
+    private Account applyAtomic(Long id, Money delta, TransactionType type) {
+        int updated = delta.signum() >= 0
+                ? accountRepository.addToBalance(id, delta.minorUnits())
+                : accountRepository.subtractFromBalance(id, delta.negate().minorUnits());
+        Account account = findById(id);
+        if (updated == 0) {
+            throw new InsufficientBalanceException(id);
+        }
+        transactionJournal.record(id, delta, type);
+        eventPublisher.publishEvent(new BalanceChangedEvent(id, delta));
+        return account;
+    }
+
+    private Account applyLocked(Long id, Money delta, TransactionType type) {
+        return applyTo(lockById(id), delta, type);
+    }
+
+    private Account lockById(Long id) {
+        return accountRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new AccountNotFoundException(id));
+    }
+
+    private Account applyOptimistic(Long id, Money delta, TransactionType type) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return applyVersioned(id, delta, type);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyVersioned(id, delta, type));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= optimisticMaxRetries) {
+                    log.warn("Счет с id {} не обновлен после {} попыток", id, attempt);
+                    throw e;
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    private Account applyVersioned(Long id, Money delta, TransactionType type) {
+        Account account = applyTo(findById(id), delta, type);
+        return accountRepository.saveAndFlush(account);
+    }
+
+    private Account applyTo(Account account, Money delta, TransactionType type) {
+        Money balance = account.getBalance().plus(delta);
+        if (balance.signum() < 0) {
+            throw new InsufficientBalanceException(account.getId());
+        }
+        account.setBalance(balance);
+        transactionJournal.record(account.getId(), delta, type);
+        eventPublisher.publishEvent(new BalanceChangedEvent(account.getId(), delta));
+        return account;
+    }
+
+    private Account findById(Long id) {
+        return accountRepository.findById(id)
+                .orElseThrow(() -> new AccountNotFoundException(id));
+    }
+
+    private void requirePositive(Money amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+    }
+
+    private void backoff(int attempt) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(1, 2L + attempt * 2L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.banking.service.balance;
+
+import com.example.banking.money.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Component
+@Slf4j
+public class BalanceIndex {
+    private static final String SELECT_ACCOUNTS = """
+            SELECT id, account_number, user_id, balance FROM accounts
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentSkipListMap<BalanceKey, IndexedAccount> byBalance = new ConcurrentSkipListMap<>();
+    private final Map<Long, IndexedAccount> byId = new ConcurrentHashMap<>();
+    private volatile Map<Long, IndexedAccount> suspects = Map.of();
+    private volatile boolean loaded;
+
+    public BalanceIndex(DataSource dataSource,
+                        @Value("${banking.balance-index.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.currentTimeMillis();
+        byId.clear();
+        byBalance.clear();
+        jdbcTemplate.query(SELECT_ACCOUNTS, (RowCallbackHandler) rs -> replace(map(rs)));
+        suspects = Map.of();
+        loaded = true;
+        log.info("Индекс балансов загружен: {} счетов за {} мс", byId.size(), System.currentTimeMillis() - started);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public Optional<IndexedAccount> get(Long accountId) {
+        return Optional.ofNullable(byId.get(accountId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountOpened(AccountOpenedEvent event) {
+        byId.computeIfAbsent(event.accountId(), id -> {
+            IndexedAccount account = new IndexedAccount(id, event.accountNumber(), event.userId(), event.balance());
+            byBalance.put(key(account), account);
+            return account;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBalanceChanged(BalanceChangedEvent event) {
+        byId.computeIfPresent(event.accountId(), (id, current) -> {
+            IndexedAccount updated = new IndexedAccount(id, current.accountNumber(), current.userId(),
+                    current.balance().plus(event.delta()));
+            byBalance.remove(key(current));
+            byBalance.put(key(updated), updated);
+            return updated;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountClosed(AccountClosedEvent event) {
+        byId.computeIfPresent(event.accountId(), (id, current) -> {
+            byBalance.remove(key(current));
+            return null;
+        });
+    }
+
+    public List<IndexedAccount> above(Money minBalance, int limit) {
+        return byBalance.descendingMap()
+                .headMap(new BalanceKey(minBalance.minorUnits(), Long.MAX_VALUE))
+                .values()
+                .stream()
+                .limit(limit)
+                .toList();
+    }
+
+    public List<IndexedAccount> between(Money minBalance, Money maxBalance, int limit) {
+        if (minBalance.compareTo(maxBalance) > 0) {
+            return List.of();
+        }
+        return byBalance.subMap(new BalanceKey(minBalance.minorUnits(), Long.MIN_VALUE), true,
+                        new BalanceKey(maxBalance.minorUnits(), Long.MAX_VALUE), true)
+                .values()
+                .stream()
+                .limit(limit)
+                .toList();
+    }
+
+    public List<IndexedAccount> top(int limit) {
+        return byBalance.descendingMap()
+                .values()
+                .stream()
+                .limit(limit)
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${banking.balance-index.check-interval:PT5M}",
+            initialDelayString = "${banking.balance-index.check-interval:PT5M}")
+    public void scheduledCheck() {
+        if (loaded) {
+            checkConsistency();
+        }
+    }
+
+    public synchronized BalanceIndexReport checkConsistency() {
+        Map<Long, IndexedAccount> previous = suspects;
+        Map<Long, IndexedAccount> next = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        int[] counters = new int[3];
+        jdbcTemplate.query(SELECT_ACCOUNTS, (RowCallbackHandler) rs -> {
+            IndexedAccount actual = map(rs);
+            seen.add(actual.id());
+            counters[0]++;
+            IndexedAccount indexed = byId.getOrDefault(actual.id(), missing(actual.id()));
+            if (actual.balance().equals(indexed.balance())) {
+                return;
+            }
+            counters[1]++;
+            if (indexed.equals(previous.get(actual.id()))) {
+                replace(actual);
+                counters[2]++;
+            } else {
+                next.put(actual.id(), indexed);
+            }
+        });
+        for (IndexedAccount indexed : List.copyOf(byId.values())) {
+            if (seen.contains(indexed.id())) {
+                continue;
+            }
+            counters[1]++;
+            if (indexed.equals(previous.get(indexed.id()))) {
+                onAccountClosed(new AccountClosedEvent(indexed.id()));
+                counters[2]++;
+            } else {
+                next.put(indexed.id(), indexed);
+            }
+        }
+        suspects = next;
+        BalanceIndexReport report = new BalanceIndexReport(counters[0], counters[1], counters[2]);
+        if (report.mismatched() > 0) {
+            log.warn("Расхождение индекса балансов с базой: {}", report);
+        }
+        return report;
+    }
+
+    private void replace(IndexedAccount account) {
+        byId.compute(account.id(), (id, current) -> {
+            if (current != null) {
+                byBalance.remove(key(current));
+            }
+            byBalance.put(key(account), account);
+            return account;
+        });
+    }
+
+    private static IndexedAccount map(ResultSet rs) throws SQLException {
+        return new IndexedAccount(
+                rs.getLong("id"),
+                rs.getString("account_number"),
+                rs.getObject("user_id", Long.class),
+                Money.ofMinor(rs.getLong("balance"))
+        );
+    }
+
+    private static IndexedAccount missing(Long id) {
+        return new IndexedAccount(id, null, null, null);
+    }
+
+    private static BalanceKey key(IndexedAccount account) {
+        return new BalanceKey(account.balance().minorUnits(), account.id());
+    }
+
+    private record BalanceKey(long balance, long accountId) implements Comparable<BalanceKey> {
+
+        @Override
+        public int compareTo(BalanceKey other) {
+            int byBalance = Long.compare(balance, other.balance);
+            return byBalance != 0 ? byBalance : Long.compare(accountId, other.accountId);
+        }
+    }
+}
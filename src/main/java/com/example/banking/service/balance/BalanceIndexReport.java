@@ -0,0 +1,4 @@
+package com.example.banking.service.balance;
+
+public record BalanceIndexReport(int checked, int mismatched, int corrected) {
+}
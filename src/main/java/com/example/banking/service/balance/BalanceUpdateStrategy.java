@@ -0,0 +1,7 @@
+package com.example.banking.service.balance;
+
+public enum BalanceUpdateStrategy {
+    ATOMIC,
+    PESSIMISTIC,
+    OPTIMISTIC
+}
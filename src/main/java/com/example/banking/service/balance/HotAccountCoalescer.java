@@ -0,0 +1,292 @@
+package com.example.banking.service.balance;
+
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.service.journal.JournalEntry;
+import com.example.banking.service.journal.TransactionJournal;
+import com.example.banking.service.journal.TransactionType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class HotAccountCoalescer {
+    private final AccountRepository accountRepository;
+    private final TransactionJournal transactionJournal;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Set<Long> configured;
+    private final long autoDetectThreshold;
+    private final Map<Long, HotAccount> hotAccounts = new ConcurrentHashMap<>();
+    private final Map<Long, HotAccount> retired = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> depositRates = new ConcurrentHashMap<>();
+    private final Set<Long> closing = ConcurrentHashMap.newKeySet();
+
+    public HotAccountCoalescer(AccountRepository accountRepository,
+                               TransactionJournal transactionJournal,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${banking.hot-accounts.enabled:false}") boolean enabled,
+                               @Value("${banking.hot-accounts.ids:}") List<Long> configured,
+                               @Value("${banking.hot-accounts.auto-detect-threshold:1000}") long autoDetectThreshold) {
+        this.accountRepository = accountRepository;
+        this.transactionJournal = transactionJournal;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.configured = Set.copyOf(configured);
+        this.autoDetectThreshold = autoDetectThreshold;
+        if (enabled) {
+            this.configured.forEach(this::markHot);
+            log.info("Объединение пополнений горячих счетов включено, заданные счета: {}", this.configured);
+        }
+    }
+
+    public boolean offer(Long id, Money amount) {
+        if (!enabled) {
+            return false;
+        }
+        HotAccount hot = hotAccounts.get(id);
+        if (hot == null) {
+            if (autoDetectThreshold > 0) {
+                depositRates.computeIfAbsent(id, key -> new LongAdder()).increment();
+            }
+            return false;
+        }
+        hot.lock.readLock().lock();
+        try {
+            if (closing.contains(id) || (hotAccounts.get(id) != hot && retired.get(id) != hot)) {
+                return false;
+            }
+            hot.add(new JournalEntry(id, amount, TransactionType.DEPOSIT, LocalDateTime.now()));
+            return true;
+        } finally {
+            hot.lock.readLock().unlock();
+        }
+    }
+
+    public boolean isHot(Long id) {
+        return enabled && hotAccounts.containsKey(id);
+    }
+
+    public Money pending(Long id) {
+        HotAccount hot = hotAccounts.get(id);
+        HotAccount cooling = retired.get(id);
+        long pending = hot == null ? 0 : hot.pending();
+        return Money.ofMinor(cooling == null ? pending : Math.addExact(pending, cooling.pending()));
+    }
+
+    public <T> T withPending(Long id, Function<Money, T> reader) {
+        HotAccount hot = hotAccounts.get(id);
+        HotAccount cooling = retired.get(id);
+        Lock hotLock = hot == null ? null : hot.lock.readLock();
+        Lock coolingLock = cooling == null ? null : cooling.lock.readLock();
+        if (hotLock != null) {
+            hotLock.lock();
+        }
+        try {
+            if (coolingLock != null) {
+                coolingLock.lock();
+            }
+            try {
+                long pending = hot == null ? 0 : hot.pending();
+                long total = cooling == null ? pending : Math.addExact(pending, cooling.pending());
+                return reader.apply(Money.ofMinor(total));
+            } finally {
+                if (coolingLock != null) {
+                    coolingLock.unlock();
+                }
+            }
+        } finally {
+            if (hotLock != null) {
+                hotLock.unlock();
+            }
+        }
+    }
+
+    public void markHot(Long id) {
+        if (hotAccounts.putIfAbsent(id, new HotAccount()) == null) {
+            log.info("Счет {} помечен как горячий", id);
+        }
+    }
+
+    public boolean flush(Long id) {
+        boolean written = false;
+        HotAccount hot = hotAccounts.get(id);
+        if (hot != null) {
+            written = flush(id, hot);
+        }
+        HotAccount cooling = retired.get(id);
+        if (cooling != null) {
+            written |= flush(id, cooling);
+        }
+        return written;
+    }
+
+    public boolean beginClose(Long id) {
+        if (!enabled) {
+            return false;
+        }
+        closing.add(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        closing.remove(id);
+                    }
+                }
+            });
+        }
+        return flush(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountClosed(AccountClosedEvent event) {
+        Long id = event.accountId();
+        hotAccounts.remove(id);
+        retired.remove(id);
+        depositRates.remove(id);
+        closing.remove(id);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.hot-accounts.flush-interval:PT0.05S}")
+    public void flushAll() {
+        hotAccounts.forEach(this::flushQuietly);
+        retired.forEach(this::flushQuietly);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushAll();
+    }
+
+    @Scheduled(fixedRateString = "${banking.hot-accounts.detection-window:PT1S}")
+    public void rollWindow() {
+        if (!enabled || autoDetectThreshold <= 0) {
+            return;
+        }
+        retired.forEach(this::retire);
+        hotAccounts.forEach((id, hot) -> {
+            long deposits = hot.deposits.sumThenReset();
+            if (deposits < autoDetectThreshold / 4 && !configured.contains(id) && retired.putIfAbsent(id, hot) == null) {
+                hotAccounts.remove(id, hot);
+                log.info("Счет {} больше не горячий", id);
+            }
+        });
+        depositRates.forEach((id, rate) -> {
+            if (rate.sum() >= autoDetectThreshold) {
+                markHot(id);
+            }
+        });
+        depositRates.clear();
+    }
+
+    private void retire(Long id, HotAccount hot) {
+        hot.lock.writeLock().lock();
+        try {
+            write(id, hot);
+            if (hot.pending() == 0) {
+                retired.remove(id, hot);
+            }
+        } catch (RuntimeException e) {
+            log.debug("Сброс счета {} отложен", id);
+        } finally {
+            hot.lock.writeLock().unlock();
+        }
+    }
+
+    private void flushQuietly(Long id, HotAccount hot) {
+        try {
+            flush(id, hot);
+        } catch (RuntimeException e) {
+            log.debug("Сброс счета {} отложен", id);
+        }
+    }
+
+    private boolean flush(Long id, HotAccount hot) {
+        hot.lock.writeLock().lock();
+        try {
+            return write(id, hot);
+        } finally {
+            hot.lock.writeLock().unlock();
+        }
+    }
+
+    private boolean write(Long id, HotAccount hot) {
+        List<JournalEntry> deposits = hot.drain();
+        if (deposits.isEmpty()) {
+            return false;
+        }
+        Money delta = deposits.stream().map(JournalEntry::amount).reduce(Money.ZERO, Money::plus);
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (accountRepository.addToBalance(id, delta.minorUnits()) == 0) {
+                    log.error("Горячий счет {} не найден, накопленные пополнения {} не записаны", id, delta);
+                    return false;
+                }
+                transactionJournal.recordAll(deposits);
+                eventPublisher.publishEvent(new BalanceChangedEvent(id, delta));
+                return true;
+            }));
+        } catch (RuntimeException e) {
+            hot.restore(deposits);
+            log.warn("Не удалось записать накопленные пополнения счета {}, повтор при следующем сбросе", id, e);
+            throw e;
+        }
+    }
+
+    private static final class HotAccount {
+        private final LongAdder pending = new LongAdder();
+        private final LongAdder deposits = new LongAdder();
+        private final Queue<JournalEntry> entries = new ConcurrentLinkedQueue<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        void add(JournalEntry entry) {
+            entries.add(entry);
+            pending.add(entry.amount().minorUnits());
+            deposits.increment();
+        }
+
+        void restore(List<JournalEntry> drained) {
+            entries.addAll(drained);
+            drained.forEach(entry -> pending.add(entry.amount().minorUnits()));
+        }
+
+        long pending() {
+            return pending.sum();
+        }
+
+        List<JournalEntry> drain() {
+            List<JournalEntry> drained = new ArrayList<>(entries);
+            entries.clear();
+            pending.reset();
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.banking.service.balance;
+
+import com.example.banking.money.Money;
+
+public record IndexedAccount(Long id, String accountNumber, Long userId, Money balance) {
+}
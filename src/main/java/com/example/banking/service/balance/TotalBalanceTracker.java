@@ -0,0 +1,75 @@
+package com.example.banking.service.balance;
+
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@Slf4j
+public class TotalBalanceTracker {
+    private final AccountRepository accountRepository;
+    private final LongAdder changes = new LongAdder();
+    private final AtomicReference<Money> base = new AtomicReference<>();
+    private final AtomicReference<Money> lastDrift = new AtomicReference<>(Money.ZERO);
+
+    public TotalBalanceTracker(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reseed() {
+        changes.reset();
+        base.set(sumFromDatabase());
+        lastDrift.set(Money.ZERO);
+        log.info("Общая сумма средств загружена: {}", base.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBalanceChanged(BalanceChangedEvent event) {
+        changes.add(event.delta().minorUnits());
+    }
+
+    public Money total() {
+        Money total = base.get();
+        if (total == null) {
+            return sumFromDatabase();
+        }
+        return total.plus(Money.ofMinor(changes.sum()));
+    }
+
+    @Scheduled(fixedDelayString = "${banking.total-balance.reconcile-interval:PT5M}",
+            initialDelayString = "${banking.total-balance.reconcile-interval:PT5M}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    public Money reconcile() {
+        if (base.get() == null) {
+            return Money.ZERO;
+        }
+        Money drift = total().minus(sumFromDatabase());
+        Money previous = lastDrift.getAndSet(drift);
+        if (drift.signum() == 0) {
+            return drift;
+        }
+        log.warn("Расхождение общей суммы средств с базой: {}", drift);
+        if (drift.equals(previous)) {
+            base.accumulateAndGet(drift.negate(), Money::plus);
+            lastDrift.set(Money.ZERO);
+            log.warn("Общая сумма средств скорректирована на {}", drift.negate());
+        }
+        return drift;
+    }
+
+    private Money sumFromDatabase() {
+        return Money.ofMinor(accountRepository.findTotalBalance());
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.banking.service.balance;
+
+import com.example.banking.entity.Account;
+
+public record Transfer(Account from, Account to) {
+}
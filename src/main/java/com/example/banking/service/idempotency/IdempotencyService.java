@@ -0,0 +1,224 @@
+package com.example.banking.service.idempotency;
+
+import com.example.banking.cache.BoundedTtlCache;
+import com.example.banking.entity.IdempotencyStatus;
+import com.example.banking.exception.IdempotencyKeyConflictException;
+import com.example.banking.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final BoundedTtlCache<String, StoredResponse> completed;
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final boolean persistent;
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${banking.idempotency.max-size:100000}") int maxSize,
+                              @Value("${banking.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${banking.idempotency.wait-timeout:PT30S}") Duration waitTimeout,
+                              @Value("${banking.idempotency.persistent:false}") boolean persistent) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.completed = new BoundedTtlCache<>(maxSize, ttl);
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.persistent = persistent;
+    }
+
+    public <T> T execute(String key, String fingerprint, Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Некорректный ключ идемпотентности");
+        }
+        Optional<StoredResponse> stored = completed.get(key);
+        if (stored.isPresent()) {
+            return replay(key, stored.get(), fingerprint, responseType);
+        }
+        InFlight own = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            if (!running.fingerprint().equals(fingerprint)) {
+                throw mismatch(key);
+            }
+            return replay(key, await(key, running), fingerprint, responseType);
+        }
+        try {
+            stored = lookup(key, fingerprint, responseType);
+            if (stored.isEmpty()) {
+                stored = reserve(key, fingerprint, responseType);
+            }
+            if (stored.isPresent()) {
+                own.result().complete(stored.get());
+                return replay(key, stored.get(), fingerprint, responseType);
+            }
+            T body;
+            try {
+                body = action.get();
+            } catch (RuntimeException e) {
+                release(key);
+                throw e;
+            }
+            StoredResponse response = new StoredResponse(fingerprint, body);
+            store(key, response);
+            own.result().complete(response);
+            return body;
+        } catch (RuntimeException e) {
+            own.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${banking.idempotency.cleanup-interval:PT10M}",
+            initialDelayString = "${banking.idempotency.cleanup-interval:PT10M}")
+    public void purgeExpired() {
+        if (!persistent) {
+            return;
+        }
+        int removed = recordRepository.deleteCreatedBefore(Instant.now().minus(ttl));
+        if (removed > 0) {
+            log.info("Удалено {} устаревших ключей идемпотентности", removed);
+        }
+    }
+
+    private Optional<StoredResponse> lookup(String key, String fingerprint, Class<?> responseType) {
+        Optional<StoredResponse> cached = completed.get(key);
+        if (cached.isPresent() || !persistent) {
+            return cached;
+        }
+        return recordRepository.findById(key)
+                .filter(record -> record.getCreatedAt().isAfter(Instant.now().minus(ttl)))
+                .map(record -> {
+                    if (!record.getFingerprint().equals(fingerprint)) {
+                        throw mismatch(key);
+                    }
+                    if (record.getStatus() == IdempotencyStatus.IN_PROGRESS) {
+                        throw inProgress(key);
+                    }
+                    StoredResponse response = new StoredResponse(record.getFingerprint(),
+                            readBody(record.getResponseBody(), responseType));
+                    completed.put(key, response);
+                    return response;
+                });
+    }
+
+    private Optional<StoredResponse> reserve(String key, String fingerprint, Class<?> responseType) {
+        if (!persistent) {
+            return Optional.empty();
+        }
+        recordRepository.deleteExpired(key, Instant.now().minus(ttl));
+        try {
+            recordRepository.reserve(key, fingerprint, Instant.now());
+            return Optional.empty();
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Ключ идемпотентности {} уже занят другим узлом", key);
+            return Optional.of(lookup(key, fingerprint, responseType).orElseThrow(() -> inProgress(key)));
+        }
+    }
+
+    private void release(String key) {
+        if (!persistent) {
+            return;
+        }
+        try {
+            recordRepository.release(key);
+        } catch (RuntimeException e) {
+            log.error("Не удалось снять резерв ключа идемпотентности {}, повторы получат отказ до истечения срока",
+                    key, e);
+        }
+    }
+
+    private void store(String key, StoredResponse response) {
+        completed.put(key, response);
+        if (!persistent) {
+            return;
+        }
+        try {
+            if (recordRepository.complete(key, writeBody(response.body())) == 0) {
+                log.warn("Резерв ключа идемпотентности {} не найден при сохранении ответа", key);
+            }
+        } catch (RuntimeException e) {
+            log.error("Не удалось сохранить ответ для ключа идемпотентности {}, "
+                    + "повторы получат отказ до истечения срока", key, e);
+        }
+    }
+
+    private StoredResponse await(String key, InFlight running) {
+        try {
+            return running.result().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw inProgress(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress(key);
+        }
+    }
+
+    private <T> T replay(String key, StoredResponse stored, String fingerprint, Class<T> responseType) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw mismatch(key);
+        }
+        log.debug("Повторный запрос с ключом идемпотентности {}", key);
+        return responseType.cast(stored.body());
+    }
+
+    private IdempotencyKeyConflictException inProgress(String key) {
+        return new IdempotencyKeyConflictException("Запрос с ключом идемпотентности еще выполняется: " + key);
+    }
+
+    private IdempotencyKeyConflictException mismatch(String key) {
+        return new IdempotencyKeyConflictException(
+                "Ключ идемпотентности уже использован для другого запроса: " + key);
+    }
+
+    private Object readBody(String json, Class<?> responseType) {
+        try {
+            return objectMapper.readValue(json, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось прочитать сохраненный ответ", e);
+        }
+    }
+
+    private String writeBody(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Не удалось сохранить ответ", e);
+        }
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<StoredResponse> result) {
+    }
+}
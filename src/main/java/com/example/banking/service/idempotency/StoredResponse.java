@@ -0,0 +1,4 @@
+package com.example.banking.service.idempotency;
+
+public record StoredResponse(String fingerprint, Object body) {
+}
@@ -1,31 +1,77 @@
 package com.example.banking.service.impl;
 
+import com.example.banking.cache.UserEmailCache;
 import com.example.banking.dto.SimpleResponse;
 import com.example.banking.dto.accountDto.AccountRequest;
 import com.example.banking.dto.accountDto.AccountResponse;
+import com.example.banking.dto.accountDto.BatchOperationRequest;
+import com.example.banking.dto.accountDto.BatchResponse;
+import com.example.banking.dto.accountDto.TransferRequest;
+import com.example.banking.dto.accountDto.TransferResponse;
+import com.example.banking.dto.userDto.UserResponse;
 import com.example.banking.entity.Account;
 import com.example.banking.entity.User;
 import com.example.banking.exception.AccountNotFoundException;
 import com.example.banking.exception.UserNotFoundException;
+import com.example.banking.money.Money;
 import com.example.banking.repository.AccountRepository;
 import com.example.banking.repository.UserRepository;
 import com.example.banking.service.AccountService;
+import com.example.banking.service.balance.AccountClosedEvent;
+import com.example.banking.service.balance.AccountOpenedEvent;
+import com.example.banking.service.balance.BalanceBatchExecutor;
+import com.example.banking.service.balance.BalanceChangedEvent;
+import com.example.banking.service.balance.BalanceEngine;
+import com.example.banking.service.balance.BalanceIndex;
+import com.example.banking.service.balance.HotAccountCoalescer;
+import com.example.banking.service.balance.IndexedAccount;
+import com.example.banking.service.balance.TotalBalanceTracker;
+import com.example.banking.service.balance.Transfer;
+import com.example.banking.service.journal.TransactionJournal;
+import com.example.banking.service.journal.TransactionType;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "banking.service", histogram = true)
 public class AccountServiceImpl implements AccountService {
+    private static final int IN_CLAUSE_SIZE = 1000;
+
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
+    private final BalanceEngine balanceEngine;
+    private final BalanceBatchExecutor balanceBatchExecutor;
+    private final TotalBalanceTracker totalBalanceTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserEmailCache userEmailCache;
+    private final EntityManager entityManager;
+    private final TransactionJournal transactionJournal;
+    private final HotAccountCoalescer hotAccountCoalescer;
+    private final BalanceIndex balanceIndex;
+
+    @Value("${banking.bulk.max-size:10000}")
+    private int bulkMaxSize = 10000;
+
+    @Value("${banking.bulk.flush-size:1000}")
+    private int bulkFlushSize = 1000;
 
+    @Value("${banking.balance-index.max-limit:1000}")
+    private int indexMaxLimit = 1000;
 
     @Override
     @Transactional
@@ -33,61 +79,108 @@ public class AccountServiceImpl implements AccountService {
         log.info("Попытка создать счет для пользователя с email {}", accountRequest.userEmail());
         Account account = new Account();
         account.setAccountNumber(accountRequest.accountNumber());
-        account.setBalance(BigDecimal.ZERO);
-        User user = userRepository.findByEmail(accountRequest.userEmail()).orElseThrow(
-                () -> new UserNotFoundException("User not found with email: " + accountRequest.userEmail())
-        );
+        account.setBalance(Money.ZERO);
+        User user = userEmailCache.get(accountRequest.userEmail())
+                .map(cached -> userRepository.getReferenceById(cached.id()))
+                .orElseGet(() -> loadUserByEmail(accountRequest.userEmail()));
         account.setUser(user);
+        Account saved = accountRepository.save(account);
+        publishOpened(saved);
         log.info("Счет был создан");
-        return mapToResponse(accountRepository.save(account));
+        return mapToResponse(saved);
     }
 
     @Override
     @Transactional
-    public AccountResponse deposit(Long id, BigDecimal amount) {
+    public List<AccountResponse> createAccounts(List<AccountRequest> accountRequests) {
+        log.info("Попытка массового создания {} счетов", accountRequests.size());
+        if (accountRequests.size() > bulkMaxSize) {
+            throw new IllegalArgumentException("Слишком много счетов в одном запросе: " + accountRequests.size());
+        }
+        List<String> emails = new ArrayList<>(new LinkedHashSet<>(
+                accountRequests.stream().map(AccountRequest::userEmail).toList()));
+        Map<String, User> users = new HashMap<>();
+        for (int from = 0; from < emails.size(); from += IN_CLAUSE_SIZE) {
+            userRepository.findByEmailIn(emails.subList(from, Math.min(from + IN_CLAUSE_SIZE, emails.size())))
+                    .forEach(user -> users.put(user.getEmail(), user));
+        }
+
+        List<AccountResponse> created = new ArrayList<>(accountRequests.size());
+        List<Account> chunk = new ArrayList<>(Math.min(bulkFlushSize, accountRequests.size()));
+        for (AccountRequest accountRequest : accountRequests) {
+            User user = users.get(accountRequest.userEmail());
+            if (user == null) {
+                throw new UserNotFoundException(accountRequest.userEmail());
+            }
+            Account account = new Account();
+            account.setAccountNumber(accountRequest.accountNumber());
+            account.setBalance(Money.ZERO);
+            account.setUser(user);
+            chunk.add(account);
+            if (chunk.size() >= bulkFlushSize) {
+                flushAccounts(chunk, created);
+            }
+        }
+        flushAccounts(chunk, created);
+        log.info("Массово создано {} счетов", created.size());
+        return created;
+    }
+
+    @Override
+    public AccountResponse deposit(Long id, Money amount) {
         log.info("Попытка пополнения счета");
-        Account account = findById(id);
-        account.setBalance(account.getBalance().add(amount));
+        Account account = balanceEngine.deposit(id, amount);
         log.info("счет был пополнен на сумму {}", amount);
-        return mapToResponse(accountRepository.save(account));
+        return mapToResponse(account);
     }
 
     @Override
-    @Transactional
-    public AccountResponse withDraw(Long id, BigDecimal amount) {
+    public AccountResponse withDraw(Long id, Money amount) {
         log.info("Попытка снятия с счета");
-        Account account = findById(id);
-        if (account.getBalance().compareTo(amount) < 0) {
-            throw new IllegalArgumentException("Insufficient balance");
-        }
-        account.setBalance(account.getBalance().subtract(amount));
+        Account account = balanceEngine.withDraw(id, amount);
         log.info("с счета была снята сумма {}", amount);
-        return mapToResponse(accountRepository.save(account));
+        return mapToResponse(account);
+    }
+
+    @Override
+    public TransferResponse transfer(TransferRequest transferRequest) {
+        log.info("Попытка перевода со счета {} на счет {}",
+                transferRequest.fromAccountId(), transferRequest.toAccountId());
+        Transfer transfer = balanceEngine.transfer(
+                transferRequest.fromAccountId(), transferRequest.toAccountId(), transferRequest.amount());
+        log.info("Перевод на сумму {} выполнен", transferRequest.amount());
+        return new TransferResponse(mapToResponse(transfer.from()), mapToResponse(transfer.to()));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AccountResponse> getAccountsByUser(String userEmail) {
         log.info("Попытка получения счетов пользователя с email {}", userEmail);
-        if (!userRepository.existsByEmail(userEmail)) {
+        List<AccountResponse> accounts = accountRepository.findAccountResponsesByUserEmail(userEmail);
+        if (accounts.isEmpty() && userEmailCache.get(userEmail).isEmpty() && !userRepository.existsByEmail(userEmail)) {
             throw new UserNotFoundException(userEmail);
         }
         log.info("Получены счета пользователя с email {}", userEmail);
-        return accountRepository.findAccountsByUser_Email(userEmail)
-                .stream()
-                .map(this::mapToResponse)
-                .toList();
+        return accounts;
     }
 
     @Override
+    @Transactional
     public SimpleResponse deleteById(Long id) {
         log.info("Попытка удаления счета");
-        accountRepository.findById(id).orElseThrow(
+        hotAccountCoalescer.beginClose(id);
+        Account account = accountRepository.findById(id).orElseThrow(
                 () -> {
                     log.info("Счет с таким id: {} не найден", id);
                     return new AccountNotFoundException("Account not found with id: " + id);
                 }
         );
         accountRepository.deleteById(id);
+        if (account.getBalance() != null && account.getBalance().signum() != 0) {
+            transactionJournal.record(id, account.getBalance().negate(), TransactionType.ACCOUNT_CLOSED);
+            eventPublisher.publishEvent(new BalanceChangedEvent(id, account.getBalance().negate()));
+        }
+        eventPublisher.publishEvent(new AccountClosedEvent(id));
         log.info("Счет с id: {} успешно удален ", id);
         return SimpleResponse.builder()
                 .status(HttpStatus.OK)
@@ -96,16 +189,79 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
-    public BigDecimal findTotalBalance() {
+    public Money findTotalBalance() {
         log.info("Попытка получения суммы всех средств в системе");
-        BigDecimal totalBalance = accountRepository.findTotalBalance();
+        Money totalBalance = totalBalanceTracker.total();
         log.info("Общая сумма средств в системе {}", totalBalance);
         return totalBalance;
     }
 
-    private Account findById(Long id) {
-        return accountRepository.findById(id)
-                .orElseThrow(() -> new AccountNotFoundException(id));
+    @Override
+    public List<AccountResponse> getTopAccounts(int limit) {
+        log.info("Попытка получения {} счетов с наибольшим балансом", limit);
+        return balanceIndex.top(checkLimit(limit)).stream().map(this::mapToResponse).toList();
+    }
+
+    @Override
+    public List<AccountResponse> getAccountsInRange(Money minBalance, Money maxBalance, int limit) {
+        log.info("Попытка получения счетов с балансом от {} до {}", minBalance, maxBalance);
+        return balanceIndex.between(minBalance, maxBalance, checkLimit(limit)).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    @Override
+    public Money reconstructBalance(Long id) {
+        log.info("Попытка восстановления баланса счета {} по журналу", id);
+        if (!accountRepository.existsById(id)) {
+            throw new AccountNotFoundException(id);
+        }
+        return transactionJournal.reconstructBalance(id);
+    }
+
+    @Override
+    public BatchResponse applyBatch(List<BatchOperationRequest> operations) {
+        log.info("Попытка применить пакет из {} операций", operations.size());
+        return balanceBatchExecutor.execute(operations);
+    }
+
+    private void flushAccounts(List<Account> chunk, List<AccountResponse> created) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        accountRepository.saveAll(chunk);
+        entityManager.flush();
+        entityManager.clear();
+        chunk.forEach(account -> {
+            publishOpened(account);
+            created.add(mapToResponse(account));
+        });
+        chunk.clear();
+    }
+
+    private User loadUserByEmail(String email) {
+        User user = userRepository.findByEmail(email).orElseThrow(
+                () -> new UserNotFoundException(email)
+        );
+        userEmailCache.put(new UserResponse(user.getId(), user.getName(), user.getEmail(), user.getRegistrationDate()));
+        return user;
+    }
+
+    private void publishOpened(Account account) {
+        Long userId = account.getUser() == null ? null : account.getUser().getId();
+        eventPublisher.publishEvent(new AccountOpenedEvent(
+                account.getId(), account.getAccountNumber(), userId, account.getBalance()));
+    }
+
+    private int checkLimit(int limit) {
+        if (limit <= 0 || limit > indexMaxLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + indexMaxLimit);
+        }
+        return limit;
+    }
+
+    private AccountResponse mapToResponse(IndexedAccount account) {
+        return new AccountResponse(account.id(), account.accountNumber(), account.balance());
     }
 
     private AccountResponse mapToResponse(Account account) {
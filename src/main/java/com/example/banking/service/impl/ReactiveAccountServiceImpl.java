@@ -0,0 +1,127 @@
+package com.example.banking.service.impl;
+
+import com.example.banking.dto.accountDto.AccountResponse;
+import com.example.banking.dto.accountDto.TransferRequest;
+import com.example.banking.dto.accountDto.TransferResponse;
+import com.example.banking.exception.AccountNotFoundException;
+import com.example.banking.exception.InsufficientBalanceException;
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountR2dbcRepository;
+import com.example.banking.service.ReactiveAccountService;
+import com.example.banking.service.balance.BalanceChangedEvent;
+import com.example.banking.service.journal.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnProperty(name = "banking.reactive.enabled", havingValue = "true")
+@Slf4j
+public class ReactiveAccountServiceImpl implements ReactiveAccountService {
+    private final AccountR2dbcRepository accountRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean journalEnabled;
+
+    public ReactiveAccountServiceImpl(AccountR2dbcRepository accountRepository,
+                                      TransactionalOperator reactiveTransactionalOperator,
+                                      ApplicationEventPublisher eventPublisher,
+                                      @Value("${banking.journal.enabled:true}") boolean journalEnabled) {
+        this.accountRepository = accountRepository;
+        this.transactionalOperator = reactiveTransactionalOperator;
+        this.eventPublisher = eventPublisher;
+        this.journalEnabled = journalEnabled;
+    }
+
+    @Override
+    public Mono<AccountResponse> getAccount(Long id) {
+        return accountRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException(id)));
+    }
+
+    @Override
+    public Flux<AccountResponse> getAccountsByUser(String userEmail) {
+        return accountRepository.findByUserEmail(userEmail);
+    }
+
+    @Override
+    public Mono<AccountResponse> deposit(Long id, Money amount) {
+        return requirePositive(amount)
+                .then(Mono.defer(() -> transactionalOperator.transactional(
+                        apply(id, amount, TransactionType.DEPOSIT))))
+                .doOnSuccess(account -> {
+                    eventPublisher.publishEvent(new BalanceChangedEvent(id, amount));
+                    log.info("счет {} был пополнен на сумму {}", id, amount);
+                });
+    }
+
+    @Override
+    public Mono<AccountResponse> withDraw(Long id, Money amount) {
+        return requirePositive(amount)
+                .then(Mono.defer(() -> transactionalOperator.transactional(
+                        apply(id, amount.negate(), TransactionType.WITHDRAWAL))))
+                .doOnSuccess(account -> {
+                    eventPublisher.publishEvent(new BalanceChangedEvent(id, amount.negate()));
+                    log.info("с счета {} была снята сумма {}", id, amount);
+                });
+    }
+
+    @Override
+    public Mono<TransferResponse> transfer(TransferRequest transferRequest) {
+        Long fromId = transferRequest.fromAccountId();
+        Long toId = transferRequest.toAccountId();
+        Money amount = transferRequest.amount();
+        return requirePositive(amount)
+                .then(Mono.defer(() -> {
+                    if (fromId == null || toId == null) {
+                        return Mono.error(new IllegalArgumentException("Both accounts must be specified"));
+                    }
+                    if (fromId.equals(toId)) {
+                        return Mono.error(new IllegalArgumentException("Cannot transfer to the same account"));
+                    }
+                    Mono<AccountResponse> debit = apply(fromId, amount.negate(), TransactionType.TRANSFER_OUT);
+                    Mono<AccountResponse> credit = apply(toId, amount, TransactionType.TRANSFER_IN);
+                    Mono<TransferResponse> transfer = fromId < toId
+                            ? debit.flatMap(from -> credit.map(to -> new TransferResponse(from, to)))
+                            : credit.flatMap(to -> debit.map(from -> new TransferResponse(from, to)));
+                    return transactionalOperator.transactional(transfer);
+                }))
+                .doOnSuccess(transfer -> {
+                    eventPublisher.publishEvent(new BalanceChangedEvent(fromId, amount.negate()));
+                    eventPublisher.publishEvent(new BalanceChangedEvent(toId, amount));
+                    log.info("Перевод на сумму {} со счета {} на счет {} выполнен", amount, fromId, toId);
+                });
+    }
+
+    private Mono<AccountResponse> apply(Long id, Money delta, TransactionType type) {
+        Mono<Long> updated = delta.signum() >= 0
+                ? accountRepository.addToBalance(id, delta)
+                : accountRepository.subtractFromBalance(id, delta.negate());
+        return updated
+                .flatMap(rows -> rows == 0 ? rejected(id) : Mono.just(rows))
+                .then(journal(id, delta, type))
+                .then(accountRepository.findById(id));
+    }
+
+    private Mono<Void> journal(Long id, Money delta, TransactionType type) {
+        return journalEnabled ? accountRepository.appendJournalEntry(id, delta, type).then() : Mono.empty();
+    }
+
+    private Mono<Long> rejected(Long id) {
+        return accountRepository.existsById(id)
+                .flatMap(exists -> Mono.error(exists
+                        ? new InsufficientBalanceException(id)
+                        : new AccountNotFoundException(id)));
+    }
+
+    private Mono<Void> requirePositive(Money amount) {
+        return amount == null || amount.signum() <= 0
+                ? Mono.error(new IllegalArgumentException("Amount must be positive"))
+                : Mono.empty();
+    }
+}
@@ -1,33 +1,96 @@
 package com.example.banking.service.impl;
 
+import com.example.banking.cache.UserEmailCache;
+import com.example.banking.dto.ExportFormat;
 import com.example.banking.dto.SimpleResponse;
 import com.example.banking.dto.userDto.UserAccountResponse;
+import com.example.banking.dto.userDto.UserPageResponse;
 import com.example.banking.dto.userDto.UserRequest;
 import com.example.banking.dto.userDto.UserResponse;
 import com.example.banking.entity.User;
 import com.example.banking.exception.DuplicateEmailException;
 import com.example.banking.exception.UserNotFoundException;
+import com.example.banking.money.Money;
+import com.example.banking.repository.UserJdbcRepository;
 import com.example.banking.repository.UserRepository;
 import com.example.banking.service.UserService;
+import com.example.banking.service.balance.AccountClosedEvent;
+import com.example.banking.service.balance.BalanceChangedEvent;
+import com.example.banking.service.balance.BalanceIndex;
+import com.example.banking.service.balance.HotAccountCoalescer;
+import com.example.banking.service.balance.IndexedAccount;
+import com.example.banking.service.journal.TransactionJournal;
+import com.example.banking.service.journal.TransactionType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed(value = "banking.service", histogram = true)
 public class UserServiceImpl implements UserService {
+    private static final String CURSOR_PREFIX = "u:";
+    private static final int IN_CLAUSE_SIZE = 1000;
+
     private final UserRepository userRepository;
+    private final UserJdbcRepository userJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final UserEmailCache userEmailCache;
+    private final EntityManager entityManager;
+    private final TransactionJournal transactionJournal;
+    private final BalanceIndex balanceIndex;
+    private final HotAccountCoalescer hotAccountCoalescer;
+
+    @Value("${banking.users.page-size:100}")
+    private int defaultPageSize = 100;
+
+    @Value("${banking.users.max-page-size:1000}")
+    private int maxPageSize = 1000;
+
+    @Value("${banking.bulk.max-size:10000}")
+    private int bulkMaxSize = 10000;
+
+    @Value("${banking.bulk.flush-size:1000}")
+    private int bulkFlushSize = 1000;
 
     @Override
     public UserResponse createUser(UserRequest userRequest) {
         log.info("Попытка создать пользователя с email: {}", userRequest.email());
-        if (userRepository.findByEmail(userRequest.email()).isPresent()) {
+        if (emailTaken(userRequest.email())) {
             log.warn("Попытка создать пользователя с уже существующим email: {}", userRequest.email());
             throw new DuplicateEmailException(userRequest.email());
         }
@@ -38,54 +101,128 @@ public class UserServiceImpl implements UserService {
         user.setRegistrationDate(LocalDate.now());
         User saved = userRepository.save(user);
         log.info("Пользователь {} успешно сохранён в базе с id {}", saved.getName(), saved.getId());
-        return new UserResponse(
+        UserResponse userResponse = new UserResponse(
                 saved.getId(),
                 saved.getName(),
                 saved.getEmail(),
                 saved.getRegistrationDate()
         );
+        userEmailCache.put(userResponse);
+        return userResponse;
+    }
+
+    @Override
+    @Transactional
+    public List<UserResponse> createUsers(List<UserRequest> userRequests) {
+        log.info("Попытка массового создания {} пользователей", userRequests.size());
+        if (userRequests.size() > bulkMaxSize) {
+            throw new IllegalArgumentException("Слишком много пользователей в одном запросе: " + userRequests.size());
+        }
+        Set<String> emails = new HashSet<>();
+        for (UserRequest userRequest : userRequests) {
+            if (!emails.add(userRequest.email())) {
+                throw new DuplicateEmailException(userRequest.email());
+            }
+        }
+        List<String> uniqueEmails = List.copyOf(emails);
+        for (int from = 0; from < uniqueEmails.size(); from += IN_CLAUSE_SIZE) {
+            List<String> existing = userRepository.findExistingEmails(
+                    uniqueEmails.subList(from, Math.min(from + IN_CLAUSE_SIZE, uniqueEmails.size())));
+            if (!existing.isEmpty()) {
+                log.warn("Попытка массово создать пользователя с уже существующим email: {}", existing.get(0));
+                throw new DuplicateEmailException(existing.get(0));
+            }
+        }
+
+        LocalDate registrationDate = LocalDate.now();
+        List<UserResponse> created = new ArrayList<>(userRequests.size());
+        List<User> chunk = new ArrayList<>(Math.min(bulkFlushSize, userRequests.size()));
+        for (UserRequest userRequest : userRequests) {
+            User user = new User();
+            user.setName(userRequest.name());
+            user.setEmail(userRequest.email());
+            user.setRegistrationDate(registrationDate);
+            chunk.add(user);
+            if (chunk.size() >= bulkFlushSize) {
+                flushUsers(chunk, created);
+            }
+        }
+        flushUsers(chunk, created);
+        log.info("Массово создано {} пользователей", created.size());
+        return created;
     }
 
     @Override
     public UserResponse getUserById(Long id) {
         log.info("Попытка получения пользователя с id {}", id);
-        User user = findUserById(id);
+        UserResponse user = userRepository.findResponseById(id)
+                .orElseThrow(() -> {
+                    log.info("Пользователь не найден с id {}", id);
+                    return new UserNotFoundException(id);
+                });
         log.info("Пользователь с id {} успешно получен", id);
-        return mapToResponse(user);
+        return user;
     }
 
     @Override
     public UserResponse getUserByEmail(String email) {
-        User user = userRepository.findByEmail(email).orElseThrow(
+        return findCachedByEmail(email).orElseThrow(
                 () -> new UserNotFoundException(email));
-        return UserResponse.builder()
-                .id(user.getId())
-                .name(user.getName())
-                .email(user.getEmail())
-                .registrationDate(user.getRegistrationDate())
-                .build();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
         log.info("Попытка получения всех пользователей");
-        List<User> allUsers = userRepository.findAll();
+        List<UserResponse> allUsers = userRepository.findAllResponses();
         if (allUsers.isEmpty()) {
             log.info("Список пользователей пуст");
-            throw new RuntimeException("Список пользователей пуст");
         }
-        return allUsers
-                .stream()
-                .map(u -> new UserResponse(u.getId(), u.getName(), u.getEmail(), u.getRegistrationDate())).
-                toList();
+        return allUsers;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserPageResponse getUsersPage(String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : size;
+        if (pageSize <= 0 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        long afterId = decodeCursor(cursor);
+        log.info("Попытка получения {} пользователей после id {}", pageSize, afterId);
+        List<UserResponse> users = userRepository.findPageAfter(afterId, PageRequest.of(0, pageSize));
+        String nextCursor = users.size() < pageSize ? null : encodeCursor(users.get(users.size() - 1).id());
+        return new UserPageResponse(users, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllUsers(OutputStream outputStream) {
+        log.info("Попытка потоковой выгрузки всех пользователей");
+        ObjectWriter writer = objectMapper.writerFor(UserResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            userJdbcRepository.streamAll(user -> {
+                try {
+                    writer.writeValue(generator, user);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Override
     public UserResponse updateUser(Long id, UserRequest userRequest) {
         log.info("Попытка обновления данных пользователя c id {}", id);
         User user = findUserById(id);
-        if (!user.getEmail().equals(userRequest.email()) &&
-                userRepository.findByEmail(userRequest.email()).isPresent()) {
+        String previousEmail = user.getEmail();
+        if (!previousEmail.equals(userRequest.email()) && emailTaken(userRequest.email())) {
             log.info("Почта с таким именем уже существует");
             throw new DuplicateEmailException(userRequest.email());
         }
@@ -93,15 +230,32 @@ public class UserServiceImpl implements UserService {
         user.setEmail(userRequest.email());
 
         User updated = userRepository.save(user);
+        userEmailCache.invalidate(previousEmail);
+        userEmailCache.invalidate(updated.getEmail());
         log.info("Данные пользователя с id {} успешно обновлены", id);
         return mapToResponse(updated);
     }
 
     @Override
+    @Transactional
     public SimpleResponse deleteById(Long id) {
         log.info("Попытка удаления пользователя с id {}", id);
         User user = findUserById(id);
+        user.getAccounts().forEach(account -> {
+            if (hotAccountCoalescer.beginClose(account.getId())) {
+                entityManager.refresh(account);
+            }
+        });
         userRepository.delete(user);
+        userEmailCache.invalidate(user.getEmail());
+        user.getAccounts().stream()
+                .filter(account -> account.getBalance() != null && account.getBalance().signum() != 0)
+                .forEach(account -> {
+                    transactionJournal.record(account.getId(), account.getBalance().negate(),
+                            TransactionType.ACCOUNT_CLOSED);
+                    eventPublisher.publishEvent(new BalanceChangedEvent(account.getId(), account.getBalance().negate()));
+                });
+        user.getAccounts().forEach(account -> eventPublisher.publishEvent(new AccountClosedEvent(account.getId())));
         log.info("Пользователь с id {} успешно удален", id);
         return SimpleResponse.builder()
                 .status(HttpStatus.OK)
@@ -110,44 +264,100 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserAccountResponse> getAllUsersAboveAmount(BigDecimal amount) {
         log.info("Попытка получения пользователей с счетом выше {}", amount);
-        List<UserAccountResponse> users = userRepository.findUsersWithAllAccountsAbove(amount);
+        Money threshold = Money.of(amount);
+        List<UserAccountResponse> users = balanceIndex.isLoaded()
+                ? findUsersAboveFromIndex(threshold)
+                : userRepository.findUsersWithAllAccountsAbove(threshold);
         if (users.isEmpty()) {
             log.info("Списко пользователей пуст");
             throw new UserNotFoundException(amount);
         }
-        return users.stream()
-                .map(u -> new UserAccountResponse(
-                                u.id(),
-                                u.name(),
-                                u.email(),
-                                u.registrationDate(),
-                                u.accountNumber(),
-                                u.amount()
-                        )
-                ).toList();
+        return users;
+    }
+
+    private List<UserAccountResponse> findUsersAboveFromIndex(Money threshold) {
+        List<IndexedAccount> accounts = balanceIndex.above(threshold, Integer.MAX_VALUE);
+        List<Long> userIds = new ArrayList<>(new LinkedHashSet<>(
+                accounts.stream().map(IndexedAccount::userId).filter(Objects::nonNull).toList()));
+        Map<Long, User> users = new HashMap<>();
+        for (int from = 0; from < userIds.size(); from += IN_CLAUSE_SIZE) {
+            userRepository.findAllById(userIds.subList(from, Math.min(from + IN_CLAUSE_SIZE, userIds.size())))
+                    .forEach(user -> users.put(user.getId(), user));
+        }
+        List<UserAccountResponse> result = new ArrayList<>(accounts.size());
+        for (IndexedAccount account : accounts) {
+            User user = users.get(account.userId());
+            if (user != null) {
+                result.add(new UserAccountResponse(user.getId(), user.getName(), user.getEmail(),
+                        user.getRegistrationDate(), account.accountNumber(), account.balance()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<UserAccountResponse> getUsersAboveAmountPage(BigDecimal amount, int page, int size) {
+        if (page < 0 || size <= 0 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        log.info("Попытка получения страницы {} пользователей с счетом выше {}", page, amount);
+        return userRepository.findUsersWithAccountsAbove(Money.of(amount), PageRequest.of(page, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsersAboveAmount(BigDecimal amount, ExportFormat format, OutputStream outputStream) {
+        log.info("Попытка выгрузки пользователей с счетом выше {} в формате {}", amount, format);
+        try (Stream<UserAccountResponse> users = userRepository.streamUsersWithAccountsAbove(Money.of(amount))) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(users, outputStream);
+            } else {
+                writeJsonArray(users, outputStream);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Override
     public UserResponse findUserByEmail(String email) {
         log.info("Попытка получения пользователя по email {}", email);
-        User user = userRepository.findByEmail(email).orElseThrow(
+        return findCachedByEmail(email).orElseThrow(
                 () -> {
                     log.info("Пользователь не найден с email {}", email);
                     return new UserNotFoundException(email);
                 }
         );
-        return UserResponse.builder()
-                .id(user.getId())
-                .name(user.getName())
-                .email(user.getEmail())
-                .registrationDate(user.getRegistrationDate())
-                .build();
     }
 
+    private void flushUsers(List<User> chunk, List<UserResponse> created) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        userRepository.saveAll(chunk);
+        entityManager.flush();
+        entityManager.clear();
+        chunk.forEach(user -> created.add(mapToResponse(user)));
+        chunk.clear();
+    }
 
+    private Optional<UserResponse> findCachedByEmail(String email) {
+        Optional<UserResponse> cached = userEmailCache.get(email);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<UserResponse> user = userRepository.findResponseByEmail(email);
+        user.ifPresent(userEmailCache::put);
+        return user;
+    }
 
+    private boolean emailTaken(String email) {
+        return userEmailCache.get(email).isPresent() || userRepository.findByEmail(email).isPresent();
+    }
 
     private User findUserById(Long id) {
         return userRepository.findById(id)
@@ -157,6 +367,77 @@ public class UserServiceImpl implements UserService {
                 });
     }
 
+    private void writeJsonArray(Stream<UserAccountResponse> users, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(UserAccountResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            users.forEach(user -> {
+                try {
+                    writer.writeValue(generator, user);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        }
+    }
+
+    private void writeCsv(Stream<UserAccountResponse> users, OutputStream outputStream) throws IOException {
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        writer.write("id,name,email,registrationDate,accountNumber,amount\n");
+        users.forEach(user -> {
+            try {
+                writer.write(String.valueOf(user.id()));
+                writer.write(',');
+                writer.write(csvField(user.name()));
+                writer.write(',');
+                writer.write(csvField(user.email()));
+                writer.write(',');
+                writer.write(String.valueOf(user.registrationDate()));
+                writer.write(',');
+                writer.write(csvField(user.accountNumber()));
+                writer.write(',');
+                writer.write(user.amount() == null ? "" : user.amount().toString());
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
     private UserResponse mapToResponse(User user) {
         return new UserResponse(user.getId(), user.getName(), user.getEmail(), user.getRegistrationDate());
     }
@@ -0,0 +1,320 @@
+package com.example.banking.service.importer;
+
+import com.example.banking.dto.accountDto.AccountRequest;
+import com.example.banking.dto.importDto.ImportReport;
+import com.example.banking.dto.importDto.ImportRowError;
+import com.example.banking.dto.userDto.UserRequest;
+import com.example.banking.entity.Account;
+import com.example.banking.entity.User;
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.repository.UserRepository;
+import com.example.banking.service.balance.AccountOpenedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+@Service
+@Slf4j
+public class CsvImportService {
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportExecutor importExecutor;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int maxErrors;
+
+    public CsvImportService(UserRepository userRepository,
+                            AccountRepository accountRepository,
+                            EntityManager entityManager,
+                            Validator validator,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager,
+                            ImportExecutor importExecutor,
+                            @Value("${banking.import.chunk-size:500}") int chunkSize,
+                            @Value("${banking.import.parallelism:4}") int parallelism,
+                            @Value("${banking.import.max-errors:1000}") int maxErrors) {
+        this.userRepository = userRepository;
+        this.accountRepository = accountRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.importExecutor = importExecutor;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parallelism = Math.max(1, parallelism);
+        this.maxErrors = maxErrors;
+    }
+
+    public ImportReport importUsers(InputStream inputStream) {
+        log.info("Начат импорт пользователей из CSV");
+        return run(inputStream, List.of("name", "email"), this::toUserRequest, this::writeUsers);
+    }
+
+    public ImportReport importAccounts(InputStream inputStream) {
+        log.info("Начат импорт счетов из CSV");
+        return run(inputStream, List.of("accountNumber", "userEmail"), this::toAccountRequest, this::writeAccounts);
+    }
+
+    private <T> ImportReport run(InputStream inputStream,
+                                 List<String> columns,
+                                 Function<List<String>, T> mapper,
+                                 Function<List<ImportRow<T>>, ChunkResult> writer) {
+        Progress progress = new Progress();
+        Semaphore slots = new Semaphore(parallelism);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IllegalArgumentException("Файл импорта пуст");
+            }
+            int[] indexes = resolveColumns(CsvLineParser.parse(stripBom(header)), columns);
+            List<ImportRow<T>> chunk = new ArrayList<>(chunkSize);
+            long line = 1;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                progress.processed.increment();
+                try {
+                    chunk.add(new ImportRow<>(line, mapper.apply(select(CsvLineParser.parse(text), indexes))));
+                } catch (IllegalArgumentException e) {
+                    progress.fail(new ImportRowError(line, e.getMessage()));
+                }
+                if (chunk.size() >= chunkSize) {
+                    submit(slots, chunk, writer, progress);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            submit(slots, chunk, writer, progress);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            awaitCompletion(slots);
+        }
+        ImportReport report = progress.report();
+        log.info("Импорт завершен: обработано {}, загружено {}, ошибок {} за {} мс",
+                report.processed(), report.imported(), report.failed(), report.durationMs());
+        return report;
+    }
+
+    private <T> void submit(Semaphore slots,
+                            List<ImportRow<T>> chunk,
+                            Function<List<ImportRow<T>>, ChunkResult> writer,
+                            Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        slots.acquireUninterruptibly();
+        try {
+            importExecutor.execute(() -> {
+                try {
+                    writeChunk(chunk, writer, progress);
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    private <T> void writeChunk(List<ImportRow<T>> chunk,
+                                Function<List<ImportRow<T>>, ChunkResult> writer,
+                                Progress progress) {
+        try {
+            progress.apply(transactionTemplate.execute(status -> writer.apply(chunk)));
+        } catch (RuntimeException e) {
+            log.warn("Не удалось записать строки {}-{} пакетом, повтор по одной: {}",
+                    chunk.get(0).line(), chunk.get(chunk.size() - 1).line(), e.getMessage());
+            for (ImportRow<T> row : chunk) {
+                try {
+                    progress.apply(transactionTemplate.execute(status -> writer.apply(List.of(row))));
+                } catch (DataIntegrityViolationException rowError) {
+                    progress.fail(new ImportRowError(row.line(), "Нарушение уникальности"));
+                } catch (RuntimeException rowError) {
+                    progress.fail(new ImportRowError(row.line(), rowError.getMessage()));
+                }
+            }
+        }
+        log.info("Импорт: обработано {} строк, загружено {}, ошибок {}",
+                progress.processed.sum(), progress.imported.sum(), progress.failed.sum());
+    }
+
+    private ChunkResult writeUsers(List<ImportRow<UserRequest>> rows) {
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(
+                rows.stream().map(row -> row.value().email()).toList()));
+        Set<String> seen = new HashSet<>();
+        List<ImportRowError> errors = new ArrayList<>();
+        List<User> users = new ArrayList<>(rows.size());
+        LocalDate registrationDate = LocalDate.now();
+        for (ImportRow<UserRequest> row : rows) {
+            String email = row.value().email();
+            if (existing.contains(email) || !seen.add(email)) {
+                errors.add(new ImportRowError(row.line(), "Почта с таким названием уже существует: " + email));
+                continue;
+            }
+            User user = new User();
+            user.setName(row.value().name());
+            user.setEmail(email);
+            user.setRegistrationDate(registrationDate);
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+        entityManager.flush();
+        entityManager.clear();
+        return new ChunkResult(users.size(), errors);
+    }
+
+    private ChunkResult writeAccounts(List<ImportRow<AccountRequest>> rows) {
+        Map<String, User> owners = new HashMap<>();
+        userRepository.findByEmailIn(rows.stream().map(row -> row.value().userEmail()).distinct().toList())
+                .forEach(user -> owners.put(user.getEmail(), user));
+        Set<String> existing = new HashSet<>(accountRepository.findExistingAccountNumbers(
+                rows.stream().map(row -> row.value().accountNumber()).toList()));
+        Set<String> seen = new HashSet<>();
+        List<ImportRowError> errors = new ArrayList<>();
+        List<Account> accounts = new ArrayList<>(rows.size());
+        for (ImportRow<AccountRequest> row : rows) {
+            AccountRequest request = row.value();
+            User owner = owners.get(request.userEmail());
+            if (owner == null) {
+                errors.add(new ImportRowError(row.line(), "Пользователь не найден с email: " + request.userEmail()));
+                continue;
+            }
+            if (existing.contains(request.accountNumber()) || !seen.add(request.accountNumber())) {
+                errors.add(new ImportRowError(row.line(), "Счет с таким номером уже существует: " + request.accountNumber()));
+                continue;
+            }
+            Account account = new Account();
+            account.setAccountNumber(request.accountNumber());
+            account.setBalance(Money.ZERO);
+            account.setUser(owner);
+            accounts.add(account);
+        }
+        accountRepository.saveAll(accounts);
+        entityManager.flush();
+        entityManager.clear();
+        accounts.forEach(account -> eventPublisher.publishEvent(new AccountOpenedEvent(
+                account.getId(), account.getAccountNumber(), account.getUser().getId(), account.getBalance())));
+        return new ChunkResult(accounts.size(), errors);
+    }
+
+    private UserRequest toUserRequest(List<String> fields) {
+        UserRequest request = new UserRequest(fields.get(0), fields.get(1));
+        Set<ConstraintViolation<UserRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.iterator().next().getMessage());
+        }
+        return request;
+    }
+
+    private AccountRequest toAccountRequest(List<String> fields) {
+        if (fields.get(0).isEmpty() || fields.get(1).isEmpty()) {
+            throw new IllegalArgumentException("Номер счета и почта пользователя обязательны");
+        }
+        return new AccountRequest(fields.get(0), fields.get(1));
+    }
+
+    private int[] resolveColumns(List<String> header, List<String> columns) {
+        List<String> names = header.stream().map(name -> name.toLowerCase(Locale.ROOT)).toList();
+        int[] indexes = new int[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            indexes[i] = names.indexOf(columns.get(i).toLowerCase(Locale.ROOT));
+            if (indexes[i] < 0) {
+                throw new IllegalArgumentException("В заголовке CSV нет колонки " + columns.get(i));
+            }
+        }
+        return indexes;
+    }
+
+    private List<String> select(List<String> fields, int[] indexes) {
+        List<String> selected = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            if (index >= fields.size()) {
+                throw new IllegalArgumentException("Недостаточно колонок в строке");
+            }
+            selected.add(fields.get(index));
+        }
+        return selected;
+    }
+
+    private String stripBom(String header) {
+        return header.startsWith("\uFEFF") ? header.substring(1) : header;
+    }
+
+    private void awaitCompletion(Semaphore slots) {
+        slots.acquireUninterruptibly(parallelism);
+        slots.release(parallelism);
+    }
+
+    private record ImportRow<T>(long line, T value) {
+    }
+
+    private record ChunkResult(int imported, List<ImportRowError> errors) {
+    }
+
+    private class Progress {
+        private final long startedAt = System.nanoTime();
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder imported = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final List<ImportRowError> errors = new ArrayList<>();
+
+        void apply(ChunkResult result) {
+            imported.add(result.imported());
+            result.errors().forEach(this::fail);
+        }
+
+        void fail(ImportRowError error) {
+            failed.increment();
+            synchronized (errors) {
+                if (errors.size() < maxErrors) {
+                    errors.add(error);
+                }
+            }
+        }
+
+        ImportReport report() {
+            List<ImportRowError> sorted;
+            synchronized (errors) {
+                sorted = errors.stream().sorted(Comparator.comparingLong(ImportRowError::line)).toList();
+            }
+            return new ImportReport(processed.sum(), imported.sum(), failed.sum(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), sorted);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.banking.service.importer;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+public class ImportExecutor {
+    private final ThreadPoolExecutor executor;
+
+    public ImportExecutor(@Value("${banking.import.parallelism:4}") int parallelism,
+                          @Value("${banking.import.queue-capacity:64}") int queueCapacity) {
+        int threads = Math.max(1, parallelism);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                Thread.ofPlatform().name("csv-import-", 1).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Запись импорта не завершилась за минуту, оставшиеся пакеты отменены");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
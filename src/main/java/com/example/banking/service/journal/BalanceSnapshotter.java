@@ -0,0 +1,104 @@
+package com.example.banking.service.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Slf4j
+public class BalanceSnapshotter {
+    private static final String SELECT_WATERMARK = """
+            SELECT COALESCE(MAX(last_transaction_id), 0) FROM account_balance_snapshots
+            """;
+    private static final String SELECT_CUTOFF = """
+            SELECT MAX(id) FROM account_transactions WHERE created_at < ?
+            """;
+    private static final String SUM_DELTAS = """
+            SELECT account_id, SUM(amount) FROM account_transactions
+            WHERE id > ? AND id <= ?
+            GROUP BY account_id
+            """;
+    private static final String UPDATE_SNAPSHOT = """
+            UPDATE account_balance_snapshots
+            SET balance = balance + ?, last_transaction_id = ?, taken_at = ?
+            WHERE account_id = ?
+            """;
+    private static final String INSERT_SNAPSHOT = """
+            INSERT INTO account_balance_snapshots (account_id, balance, last_transaction_id, taken_at)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration grace;
+    private final int batchSize;
+
+    public BalanceSnapshotter(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${banking.journal.snapshot-grace:PT1M}") Duration grace,
+                              @Value("${banking.journal.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.grace = grace;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${banking.journal.snapshot-interval:PT5M}",
+            initialDelayString = "${banking.journal.snapshot-interval:PT5M}")
+    public void scheduledSnapshot() {
+        takeSnapshots();
+    }
+
+    public int takeSnapshots() {
+        Integer accounts = transactionTemplate.execute(status -> advance(LocalDateTime.now().minus(grace)));
+        return accounts == null ? 0 : accounts;
+    }
+
+    private int advance(LocalDateTime cutoffTime) {
+        long watermark = jdbcTemplate.queryForObject(SELECT_WATERMARK, Long.class);
+        Long cutoff = jdbcTemplate.queryForObject(SELECT_CUTOFF, Long.class, cutoffTime);
+        if (cutoff == null || cutoff <= watermark) {
+            return 0;
+        }
+        List<Delta> deltas = jdbcTemplate.query(SUM_DELTAS,
+                (rs, rowNum) -> new Delta(rs.getLong(1), rs.getBigDecimal(2)), watermark, cutoff);
+        LocalDateTime takenAt = LocalDateTime.now();
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SNAPSHOT, deltas, batchSize, (ps, delta) -> {
+            ps.setBigDecimal(1, delta.amount());
+            ps.setLong(2, cutoff);
+            ps.setObject(3, takenAt);
+            ps.setLong(4, delta.accountId());
+        });
+        List<Delta> missing = new ArrayList<>();
+        int position = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    missing.add(deltas.get(position));
+                }
+                position++;
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SNAPSHOT, missing, batchSize, (ps, delta) -> {
+            ps.setLong(1, delta.accountId());
+            ps.setBigDecimal(2, delta.amount());
+            ps.setLong(3, cutoff);
+            ps.setObject(4, takenAt);
+        });
+        log.info("Снимки балансов обновлены для {} счетов до операции {}", deltas.size(), cutoff);
+        return deltas.size();
+    }
+
+    private record Delta(Long accountId, BigDecimal amount) {
+    }
+}
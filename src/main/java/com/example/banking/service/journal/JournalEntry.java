@@ -0,0 +1,8 @@
+package com.example.banking.service.journal;
+
+import com.example.banking.money.Money;
+
+import java.time.LocalDateTime;
+
+public record JournalEntry(Long accountId, Money amount, TransactionType type, LocalDateTime createdAt) {
+}
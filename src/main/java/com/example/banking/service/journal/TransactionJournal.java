@@ -0,0 +1,131 @@
+package com.example.banking.service.journal;
+
+import com.example.banking.money.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Slf4j
+public class TransactionJournal {
+    private static final String INSERT_ENTRY = """
+            INSERT INTO account_transactions (account_id, amount, transaction_type, created_at)
+            VALUES (?, ?, ?, ?)
+            """;
+    private static final String SEED_OPENING_BALANCES = """
+            INSERT INTO account_transactions (account_id, amount, transaction_type, created_at)
+            SELECT a.id, a.balance * ?, 'OPENING', ?
+            FROM accounts a
+            WHERE a.balance <> 0
+              AND NOT EXISTS (SELECT 1 FROM account_transactions t WHERE t.account_id = a.id)
+            """;
+    private static final String SELECT_SNAPSHOT = """
+            SELECT balance, last_transaction_id FROM account_balance_snapshots WHERE account_id = ?
+            """;
+    private static final String SUM_TAIL = """
+            SELECT COALESCE(SUM(amount), 0) FROM account_transactions WHERE account_id = ? AND id > ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public TransactionJournal(JdbcTemplate jdbcTemplate,
+                              @Value("${banking.journal.enabled:true}") boolean enabled,
+                              @Value("${banking.journal.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    public void record(Long accountId, Money amount, TransactionType type) {
+        if (!enabled || amount.signum() == 0) {
+            return;
+        }
+        recordAll(List.of(new JournalEntry(accountId, amount, type, LocalDateTime.now())));
+    }
+
+    public void recordAll(List<JournalEntry> entries) {
+        if (!enabled || entries.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            currentBuffer().entries.addAll(entries);
+        } else {
+            write(entries);
+        }
+    }
+
+    public Money reconstructBalance(Long accountId) {
+        Snapshot snapshot = jdbcTemplate.query(SELECT_SNAPSHOT,
+                        (rs, rowNum) -> new Snapshot(rs.getBigDecimal(1), rs.getLong(2)), accountId)
+                .stream()
+                .findFirst()
+                .orElse(new Snapshot(BigDecimal.ZERO, 0L));
+        BigDecimal tail = jdbcTemplate.queryForObject(SUM_TAIL, BigDecimal.class,
+                accountId, snapshot.lastTransactionId());
+        return Money.of(snapshot.balance().add(tail));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOpeningBalances() {
+        if (!enabled) {
+            return;
+        }
+        int seeded = jdbcTemplate.update(SEED_OPENING_BALANCES,
+                BigDecimal.ONE.movePointLeft(Money.SCALE), LocalDateTime.now());
+        if (seeded > 0) {
+            log.info("В журнал записаны начальные остатки {} счетов", seeded);
+        }
+    }
+
+    private JournalBuffer currentBuffer() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof JournalBuffer buffer && buffer.owner() == this) {
+                return buffer;
+            }
+        }
+        JournalBuffer buffer = new JournalBuffer();
+        TransactionSynchronizationManager.registerSynchronization(buffer);
+        return buffer;
+    }
+
+    private void write(List<JournalEntry> entries) {
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, entries, batchSize, (ps, entry) -> {
+            ps.setLong(1, entry.accountId());
+            ps.setBigDecimal(2, entry.amount().toBigDecimal());
+            ps.setString(3, entry.type().name());
+            ps.setObject(4, entry.createdAt());
+        });
+    }
+
+    private record Snapshot(BigDecimal balance, long lastTransactionId) {
+    }
+
+    private class JournalBuffer implements TransactionSynchronization {
+        private final List<JournalEntry> entries = new ArrayList<>();
+
+        TransactionJournal owner() {
+            return TransactionJournal.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!entries.isEmpty()) {
+                write(entries);
+                entries.clear();
+            }
+        }
+    }
+}
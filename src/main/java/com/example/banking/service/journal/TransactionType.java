@@ -0,0 +1,10 @@
+package com.example.banking.service.journal;
+
+public enum TransactionType {
+    OPENING,
+    DEPOSIT,
+    WITHDRAWAL,
+    TRANSFER_IN,
+    TRANSFER_OUT,
+    ACCOUNT_CLOSED
+}
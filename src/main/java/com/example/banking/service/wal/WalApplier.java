@@ -0,0 +1,212 @@
+package com.example.banking.service.wal;
+
+import com.example.banking.money.Money;
+import com.example.banking.service.balance.BalanceChangedEvent;
+import com.example.banking.service.journal.TransactionJournal;
+import com.example.banking.service.journal.TransactionType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Component
+@ConditionalOnProperty(name = "banking.deposit.mode", havingValue = "wal")
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class WalApplier {
+    private static final String UPDATE_BALANCE = """
+            UPDATE accounts SET balance = balance + ?, version = version + 1 WHERE id = ?
+            """;
+    private static final String SELECT_CHECKPOINT = """
+            SELECT applied_sequence FROM wal_checkpoints WHERE node_id = ?
+            """;
+    private static final String UPDATE_CHECKPOINT = """
+            UPDATE wal_checkpoints SET applied_sequence = ? WHERE node_id = ?
+            """;
+    private static final String INSERT_CHECKPOINT = """
+            INSERT INTO wal_checkpoints (node_id, applied_sequence) VALUES (?, ?)
+            """;
+    private static final String INSERT_DEAD_LETTER = """
+            INSERT INTO wal_dead_letters (node_id, sequence, account_id, amount, created_at, recorded_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final WriteAheadLog writeAheadLog;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionJournal transactionJournal;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private volatile long appliedSequence;
+    private volatile boolean running;
+    private Thread worker;
+
+    public WalApplier(WriteAheadLog writeAheadLog,
+                      JdbcTemplate jdbcTemplate,
+                      PlatformTransactionManager transactionManager,
+                      TransactionJournal transactionJournal,
+                      ApplicationEventPublisher eventPublisher,
+                      @Value("${banking.wal.node-id:}") String nodeId,
+                      @Value("${banking.wal.apply-batch-size:1000}") int batchSize,
+                      @Value("${banking.wal.poll-interval:PT0.05S}") Duration pollInterval) {
+        if (nodeId.isBlank()) {
+            throw new IllegalStateException("Для журнала депозитов нужно явно задать banking.wal.node-id, "
+                    + "уникальный для каждого узла");
+        }
+        this.writeAheadLog = writeAheadLog;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionJournal = transactionJournal;
+        this.eventPublisher = eventPublisher;
+        this.nodeId = nodeId;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+    }
+
+    @PostConstruct
+    public void recover() {
+        appliedSequence = jdbcTemplate.query(SELECT_CHECKPOINT, (rs, rowNum) -> rs.getLong(1), nodeId)
+                .stream()
+                .findFirst()
+                .orElse(0L);
+        writeAheadLog.ensureSequenceAbove(appliedSequence);
+        log.info("Журнал депозитов применен до {}, ожидают применения {}",
+                appliedSequence, writeAheadLog.pendingCount());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "wal-applier");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(Duration.ofSeconds(30).toMillis());
+        }
+    }
+
+    public long appliedSequence() {
+        return appliedSequence;
+    }
+
+    private void run() {
+        List<WalRecord> batch = List.of();
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    batch = writeAheadLog.drainDurable(batchSize, pollInterval);
+                }
+                if (!batch.isEmpty()) {
+                    apply(batch);
+                    batch = List.of();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Не удалось применить {} депозитов из журнала, повтор", batch.size(), e);
+                sleep();
+            }
+        }
+    }
+
+    private void apply(List<WalRecord> batch) {
+        long last = batch.get(batch.size() - 1).sequence();
+        List<WalRecord> fresh = batch.stream().filter(record -> record.sequence() > appliedSequence).toList();
+        if (!fresh.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> applyFresh(fresh, last));
+        }
+        appliedSequence = Math.max(appliedSequence, last);
+        writeAheadLog.markApplied(appliedSequence);
+    }
+
+    private void applyFresh(List<WalRecord> records, long last) {
+        Map<Long, Money> deltas = new TreeMap<>();
+        records.forEach(record -> deltas.merge(record.accountId(), Money.of(record.amount()), Money::plus));
+        List<Map.Entry<Long, Money>> entries = new ArrayList<>(deltas.entrySet());
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_BALANCE, entries, batchSize, (ps, entry) -> {
+            ps.setLong(1, entry.getValue().minorUnits());
+            ps.setLong(2, entry.getKey());
+        });
+        Set<Long> missing = new HashSet<>();
+        int position = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                Map.Entry<Long, Money> entry = entries.get(position++);
+                if (count == 0) {
+                    missing.add(entry.getKey());
+                    log.error("Счет {} не найден, депозиты из журнала на сумму {} перенесены в wal_dead_letters",
+                            entry.getKey(), entry.getValue());
+                } else if (count != Statement.SUCCESS_NO_INFO && count < 0) {
+                    throw new IllegalStateException("Неожиданный результат обновления счета " + entry.getKey());
+                }
+            }
+        }
+        List<WalRecord> deadLetters = new ArrayList<>();
+        for (WalRecord record : records) {
+            if (missing.contains(record.accountId())) {
+                deadLetters.add(record);
+            } else {
+                transactionJournal.record(record.accountId(), Money.of(record.amount()), TransactionType.DEPOSIT);
+            }
+        }
+        if (!deadLetters.isEmpty()) {
+            LocalDateTime recordedAt = LocalDateTime.now();
+            jdbcTemplate.batchUpdate(INSERT_DEAD_LETTER, deadLetters, batchSize, (ps, record) -> {
+                ps.setString(1, nodeId);
+                ps.setLong(2, record.sequence());
+                ps.setLong(3, record.accountId());
+                ps.setBigDecimal(4, record.amount());
+                ps.setObject(5, LocalDateTime.ofInstant(record.createdAt(), ZoneId.systemDefault()));
+                ps.setObject(6, recordedAt);
+            });
+        }
+        deltas.forEach((accountId, delta) -> {
+            if (!missing.contains(accountId)) {
+                eventPublisher.publishEvent(new BalanceChangedEvent(accountId, delta));
+            }
+        });
+        if (jdbcTemplate.update(UPDATE_CHECKPOINT, last, nodeId) == 0) {
+            jdbcTemplate.update(INSERT_CHECKPOINT, nodeId, last);
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(pollInterval.toMillis() * 10 + 100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
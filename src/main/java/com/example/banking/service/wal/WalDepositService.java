@@ -0,0 +1,32 @@
+package com.example.banking.service.wal;
+
+import com.example.banking.dto.accountDto.DepositReceipt;
+import com.example.banking.exception.AccountNotFoundException;
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(name = "banking.deposit.mode", havingValue = "wal")
+@RequiredArgsConstructor
+@Slf4j
+public class WalDepositService {
+    private final WriteAheadLog writeAheadLog;
+    private final AccountRepository accountRepository;
+
+    public DepositReceipt deposit(Long id, Money amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        if (id == null || !accountRepository.existsById(id)) {
+            throw new AccountNotFoundException(id);
+        }
+        WalRecord record = writeAheadLog.append(id, amount.toBigDecimal());
+        writeAheadLog.awaitDurable(record.sequence());
+        log.debug("Депозит {} на счет {} записан в журнал под номером {}", amount, id, record.sequence());
+        return new DepositReceipt(record.sequence(), id, amount);
+    }
+}
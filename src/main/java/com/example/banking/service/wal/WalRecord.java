@@ -0,0 +1,7 @@
+package com.example.banking.service.wal;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record WalRecord(long sequence, Long accountId, BigDecimal amount, Instant createdAt) {
+}
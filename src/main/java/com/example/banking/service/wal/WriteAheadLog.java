@@ -0,0 +1,403 @@
+package com.example.banking.service.wal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+@Slf4j
+public class WriteAheadLog implements Closeable {
+    private static final String SEGMENT_PREFIX = "deposits-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int FIXED_PAYLOAD_SIZE = Long.BYTES * 3 + Integer.BYTES + Short.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxPending;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition durableAdvanced = lock.newCondition();
+    private final Condition pendingDrained = lock.newCondition();
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final ArrayDeque<WalRecord> pending = new ArrayDeque<>();
+    private long lastSequence;
+    private long durableSequence;
+    private long syncs;
+    private boolean syncing;
+    private boolean closed;
+
+    public WriteAheadLog(Path directory, int segmentSize, int maxPending) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxPending = maxPending;
+        Files.createDirectories(directory);
+        recover();
+        if (segments.isEmpty()) {
+            segments.addLast(Segment.create(segmentPath(lastSequence + 1), lastSequence + 1, segmentSize));
+        }
+        durableSequence = lastSequence;
+        log.info("Журнал депозитов открыт в {}: восстановлено {} записей, последняя {}",
+                directory, pending.size(), lastSequence);
+    }
+
+    public WalRecord append(Long accountId, BigDecimal amount) {
+        byte[] unscaled = amount.unscaledValue().toByteArray();
+        int payloadSize = FIXED_PAYLOAD_SIZE + unscaled.length;
+        if (HEADER_SIZE + payloadSize > segmentSize) {
+            throw new IllegalArgumentException("Запись не помещается в сегмент журнала");
+        }
+        lock.lock();
+        try {
+            while (pending.size() >= maxPending && !closed) {
+                pendingDrained.awaitUninterruptibly();
+            }
+            ensureOpen();
+            Segment active = segments.getLast();
+            if (active.remaining() < HEADER_SIZE + payloadSize) {
+                active = rotate(active);
+            }
+            WalRecord record = new WalRecord(lastSequence + 1, accountId, amount, Instant.now());
+            active.write(encode(record, unscaled, payloadSize));
+            active.lastSequence = record.sequence();
+            lastSequence = record.sequence();
+            pending.addLast(record);
+            return record;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                ensureOpen();
+                if (syncing) {
+                    durableAdvanced.awaitUninterruptibly();
+                    continue;
+                }
+                syncing = true;
+                Segment active = segments.getLast();
+                int from = active.forcedPosition;
+                int to = active.writePosition;
+                long target = lastSequence;
+                lock.unlock();
+                try {
+                    active.force(from, to);
+                } finally {
+                    lock.lock();
+                    syncing = false;
+                }
+                active.forcedPosition = Math.max(active.forcedPosition, to);
+                durableSequence = Math.max(durableSequence, target);
+                syncs++;
+                durableAdvanced.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<WalRecord> drainDurable(int maxRecords, Duration timeout) throws InterruptedException {
+        long remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            while (pending.isEmpty() || pending.getFirst().sequence() > durableSequence) {
+                if (remaining <= 0 || closed) {
+                    return List.of();
+                }
+                remaining = durableAdvanced.awaitNanos(remaining);
+            }
+            List<WalRecord> batch = new ArrayList<>(Math.min(maxRecords, pending.size()));
+            while (!pending.isEmpty() && batch.size() < maxRecords && pending.getFirst().sequence() <= durableSequence) {
+                batch.add(pending.removeFirst());
+            }
+            pendingDrained.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void ensureSequenceAbove(long sequence) {
+        lock.lock();
+        try {
+            if (lastSequence < sequence) {
+                log.warn("Последовательность журнала сдвинута с {} на {}", lastSequence, sequence);
+                lastSequence = sequence;
+                durableSequence = Math.max(durableSequence, sequence);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void markApplied(long sequence) {
+        lock.lock();
+        try {
+            Iterator<Segment> iterator = segments.iterator();
+            while (iterator.hasNext()) {
+                Segment segment = iterator.next();
+                if (segment == segments.getLast() || segment.lastSequence > sequence) {
+                    break;
+                }
+                segment.close();
+                Files.deleteIfExists(segment.path);
+                iterator.remove();
+            }
+        } catch (IOException e) {
+            log.warn("Не удалось удалить примененный сегмент журнала", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long syncCount() {
+        lock.lock();
+        try {
+            return syncs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (Segment segment : segments) {
+                segment.force(segment.forcedPosition, segment.writePosition);
+                segment.close();
+            }
+            durableAdvanced.signalAll();
+            pendingDrained.signalAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Segment rotate(Segment active) {
+        active.force(active.forcedPosition, active.writePosition);
+        active.forcedPosition = active.writePosition;
+        durableSequence = Math.max(durableSequence, lastSequence);
+        durableAdvanced.signalAll();
+        try {
+            Segment next = Segment.create(segmentPath(lastSequence + 1), lastSequence + 1, segmentSize);
+            segments.addLast(next);
+            return next;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(WriteAheadLog::firstSequence))
+                    .toList();
+        }
+        for (Path file : files) {
+            long firstSequence = firstSequence(file);
+            Segment segment = Segment.open(file, firstSequence, segmentSize);
+            lastSequence = Math.max(lastSequence, firstSequence - 1);
+            segment.lastSequence = firstSequence - 1;
+            ByteBuffer data = segment.read();
+            int position = 0;
+            while (true) {
+                WalRecord record = decode(data, position);
+                if (record == null || record.sequence() != lastSequence + 1) {
+                    break;
+                }
+                pending.addLast(record);
+                lastSequence = record.sequence();
+                segment.lastSequence = record.sequence();
+                position += HEADER_SIZE + data.getInt(position);
+            }
+            segment.writePosition = position;
+            segment.forcedPosition = position;
+            segments.addLast(segment);
+        }
+        if (!segments.isEmpty()) {
+            segments.getLast().clearTail();
+        }
+    }
+
+    private ByteBuffer encode(WalRecord record, byte[] unscaled, int payloadSize) {
+        ByteBuffer payload = ByteBuffer.allocate(payloadSize);
+        payload.putLong(record.sequence());
+        payload.putLong(record.accountId());
+        payload.putLong(record.createdAt().toEpochMilli());
+        payload.putInt(record.amount().scale());
+        payload.putShort((short) unscaled.length);
+        payload.put(unscaled);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.array());
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadSize);
+        buffer.putInt(payloadSize);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload.array());
+        return buffer.flip();
+    }
+
+    private static WalRecord decode(ByteBuffer buffer, int position) {
+        if (position + HEADER_SIZE > buffer.capacity()) {
+            return null;
+        }
+        int payloadSize = buffer.getInt(position);
+        if (payloadSize < FIXED_PAYLOAD_SIZE || position + HEADER_SIZE + payloadSize > buffer.capacity()) {
+            return null;
+        }
+        byte[] payload = new byte[payloadSize];
+        buffer.get(position + HEADER_SIZE, payload);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+            return null;
+        }
+        ByteBuffer data = ByteBuffer.wrap(payload);
+        long sequence = data.getLong();
+        long accountId = data.getLong();
+        Instant createdAt = Instant.ofEpochMilli(data.getLong());
+        int scale = data.getInt();
+        byte[] unscaled = new byte[data.getShort()];
+        if (unscaled.length != data.remaining()) {
+            return null;
+        }
+        data.get(unscaled);
+        return new WalRecord(sequence, accountId, new BigDecimal(new BigInteger(unscaled), scale), createdAt);
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Журнал депозитов закрыт");
+        }
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+
+    private static long firstSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final int size;
+        private int writePosition;
+        private int forcedPosition;
+        private long lastSequence;
+
+        private Segment(Path path, FileChannel channel, int size) {
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+
+        static Segment create(Path path, long firstSequence, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            Segment segment = new Segment(path, channel, size);
+            segment.lastSequence = firstSequence - 1;
+            return segment;
+        }
+
+        static Segment open(Path path, long firstSequence, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            Segment segment = new Segment(path, channel, (int) Math.max(size, channel.size()));
+            segment.lastSequence = firstSequence - 1;
+            return segment;
+        }
+
+        ByteBuffer read() throws IOException {
+            ByteBuffer data = ByteBuffer.allocate((int) channel.size());
+            while (data.hasRemaining()) {
+                if (channel.read(data, data.position()) < 0) {
+                    break;
+                }
+            }
+            return data.clear();
+        }
+
+        int remaining() {
+            return size - writePosition;
+        }
+
+        void write(ByteBuffer record) {
+            try {
+                while (record.hasRemaining()) {
+                    writePosition += channel.write(record, writePosition);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void force(int from, int to) {
+            if (to > from) {
+                try {
+                    channel.force(false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        void clearTail() throws IOException {
+            channel.truncate(writePosition);
+            channel.force(false);
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
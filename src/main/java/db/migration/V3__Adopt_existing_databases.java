@@ -0,0 +1,42 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class V3__Adopt_existing_databases extends BaseJavaMigration {
+    private static final long SEQUENCE_INCREMENT = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("ALTER TABLE accounts ADD COLUMN IF NOT EXISTS version BIGINT");
+            statement.execute("UPDATE accounts SET version = 0 WHERE version IS NULL");
+            statement.execute("ALTER TABLE accounts ALTER COLUMN version SET DEFAULT 0");
+            statement.execute("ALTER TABLE accounts ALTER COLUMN version SET NOT NULL");
+            moveSequencePastIds(statement, "users_seq", "users");
+            moveSequencePastIds(statement, "accounts_seq", "accounts");
+        }
+    }
+
+    private void moveSequencePastIds(Statement statement, String sequence, String table) throws SQLException {
+        long maxId = queryLong(statement, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+        if (maxId == 0) {
+            return;
+        }
+        long next = queryLong(statement, "SELECT nextval('" + sequence + "')");
+        if (next - SEQUENCE_INCREMENT < maxId) {
+            statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + SEQUENCE_INCREMENT));
+        }
+    }
+
+    private long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS accounts_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users
+(
+    id                BIGINT       NOT NULL PRIMARY KEY,
+    name              VARCHAR(255),
+    email             VARCHAR(255),
+    registration_date DATE
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email ON users (email);
+
+CREATE TABLE IF NOT EXISTS accounts
+(
+    id             BIGINT         NOT NULL PRIMARY KEY,
+    account_number VARCHAR(255),
+    balance        NUMERIC(38, 2),
+    version        BIGINT         NOT NULL DEFAULT 0,
+    user_id        BIGINT,
+    CONSTRAINT fk_accounts_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_accounts_account_number ON accounts (account_number);
+CREATE INDEX IF NOT EXISTS idx_accounts_user_id ON accounts (user_id);
+CREATE INDEX IF NOT EXISTS idx_accounts_balance ON accounts (balance);
+
+CREATE TABLE IF NOT EXISTS account_transactions
+(
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_id       BIGINT         NOT NULL,
+    amount           NUMERIC(38, 2) NOT NULL,
+    transaction_type VARCHAR(32)    NOT NULL,
+    created_at       TIMESTAMP(6)   NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_account_transactions_account ON account_transactions (account_id, id);
+CREATE INDEX IF NOT EXISTS idx_account_transactions_created_at ON account_transactions (created_at);
+
+CREATE TABLE IF NOT EXISTS account_balance_snapshots
+(
+    account_id          BIGINT         NOT NULL PRIMARY KEY,
+    balance             NUMERIC(38, 2) NOT NULL,
+    last_transaction_id BIGINT         NOT NULL,
+    taken_at            TIMESTAMP(6)   NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys
+(
+    idempotency_key VARCHAR(255)                NOT NULL PRIMARY KEY,
+    fingerprint     VARCHAR(255)                NOT NULL,
+    response_body   TEXT                        NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
+
+CREATE TABLE IF NOT EXISTS wal_checkpoints
+(
+    node_id          VARCHAR(64) NOT NULL PRIMARY KEY,
+    applied_sequence BIGINT      NOT NULL
+);
@@ -0,0 +1,5 @@
+UPDATE accounts SET balance = COALESCE(balance, 0) * 100;
+
+ALTER TABLE accounts ALTER COLUMN balance SET DATA TYPE BIGINT;
+ALTER TABLE accounts ALTER COLUMN balance SET DEFAULT 0;
+ALTER TABLE accounts ALTER COLUMN balance SET NOT NULL;
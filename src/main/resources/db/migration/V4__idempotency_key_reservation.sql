@@ -0,0 +1,2 @@
+ALTER TABLE idempotency_keys ADD COLUMN IF NOT EXISTS status VARCHAR(16) NOT NULL DEFAULT 'COMPLETED';
+ALTER TABLE idempotency_keys ALTER COLUMN response_body DROP NOT NULL;
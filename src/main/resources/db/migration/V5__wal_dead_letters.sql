@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS wal_dead_letters
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    node_id     VARCHAR(64)    NOT NULL,
+    sequence    BIGINT         NOT NULL,
+    account_id  BIGINT         NOT NULL,
+    amount      NUMERIC(38, 2) NOT NULL,
+    created_at  TIMESTAMP(6)   NOT NULL,
+    recorded_at TIMESTAMP(6)   NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_wal_dead_letters_node_sequence ON wal_dead_letters (node_id, sequence);
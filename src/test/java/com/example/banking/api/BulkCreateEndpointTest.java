@@ -0,0 +1,99 @@
+package com.example.banking.api;
+
+import com.example.banking.dto.accountDto.AccountRequest;
+import com.example.banking.dto.userDto.UserRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class BulkCreateEndpointTest {
+    private static final int ROWS = 1000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void bulkCreateShouldBatchInserts() throws Exception {
+        String prefix = UUID.randomUUID().toString();
+        List<UserRequest> users = new ArrayList<>();
+        List<AccountRequest> accounts = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            String email = prefix + "-" + i + "@bulk.com";
+            users.add(new UserRequest("Bulk " + i, email));
+            accounts.add(new AccountRequest(prefix + "-" + i, email));
+        }
+
+        statistics.clear();
+        mockMvc.perform(post("/api/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(users)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(ROWS));
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < ROWS / 10,
+                "statements: " + statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        mockMvc.perform(post("/api/accounts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(accounts)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(ROWS));
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < ROWS / 10,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void bulkCreateShouldRejectInvalidUser() throws Exception {
+        List<UserRequest> users = List.of(new UserRequest("", "not-an-email"));
+
+        mockMvc.perform(post("/api/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(users)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkCreateShouldRejectUnknownUser() throws Exception {
+        List<AccountRequest> accounts = List.of(new AccountRequest("acc", UUID.randomUUID() + "@bulk.com"));
+
+        mockMvc.perform(post("/api/accounts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(accounts)))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.banking.api;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+class CountingDataSource extends DelegatingDataSource {
+    private static final Set<String> EXECUTIONS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    private static volatile Counts active;
+
+    CountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    static Counts startCounting() {
+        Counts counts = new Counts();
+        active = counts;
+        return counts;
+    }
+
+    static void stopCounting() {
+        active = null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection(), CountingDataSource::onConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password), CountingDataSource::onConnection);
+    }
+
+    private static Object onConnection(Method method, Object result) {
+        return result instanceof Statement statement
+                ? wrap(method.getReturnType(), statement, CountingDataSource::onStatement)
+                : result;
+    }
+
+    private static Object onStatement(Method method, Object result) {
+        if (EXECUTIONS.contains(method.getName())) {
+            Counts counts = active;
+            if (counts != null) {
+                counts.statements.incrementAndGet();
+            }
+        }
+        return result instanceof ResultSet resultSet
+                ? wrap(ResultSet.class, resultSet, CountingDataSource::onResultSet)
+                : result;
+    }
+
+    private static Object onResultSet(Method method, Object result) {
+        if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+            Counts counts = active;
+            if (counts != null) {
+                counts.rows.incrementAndGet();
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<?> type, Object target, ResultHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            try {
+                return handler.handle(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface ResultHandler {
+        Object handle(Method method, Object result);
+    }
+
+    static final class Counts {
+        private final AtomicLong statements = new AtomicLong();
+        private final AtomicLong rows = new AtomicLong();
+
+        long statements() {
+            return statements.get();
+        }
+
+        long rows() {
+            return rows.get();
+        }
+    }
+}
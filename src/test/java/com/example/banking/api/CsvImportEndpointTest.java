@@ -0,0 +1,84 @@
+package com.example.banking.api;
+
+import com.example.banking.dto.importDto.ImportReport;
+import com.example.banking.repository.UserRepository;
+import com.example.banking.service.balance.BalanceIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"banking.import.chunk-size=100", "banking.import.parallelism=3"})
+@AutoConfigureMockMvc
+class CsvImportEndpointTest {
+    private static final int ROWS = 1000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BalanceIndex balanceIndex;
+
+    @Test
+    void shouldImportUsersAndAccountsReportingRowErrors() throws Exception {
+        String prefix = UUID.randomUUID().toString();
+        StringBuilder users = new StringBuilder("email,name\n");
+        StringBuilder accounts = new StringBuilder("userEmail,accountNumber\n");
+        for (int i = 0; i < ROWS; i++) {
+            String email = prefix + "-" + i + "@import.com";
+            users.append(email).append(",\"Import, ").append(i).append("\"\n");
+            accounts.append(email).append(',').append(prefix).append('-').append(i).append('\n');
+        }
+        users.append(prefix).append("-0@import.com,Duplicate\n");
+        users.append("not-an-email,Broken\n");
+        accounts.append(prefix).append("-missing@import.com,").append(prefix).append("-x\n");
+        accounts.append(prefix).append("-1@import.com,").append(prefix).append("-dup\n");
+        accounts.append(prefix).append("-2@import.com,").append(prefix).append("-dup\n");
+
+        ImportReport userReport = importCsv("/api/import/users", users.toString());
+        assertEquals(ROWS + 2, userReport.processed());
+        assertEquals(ROWS, userReport.imported());
+        assertEquals(2, userReport.failed());
+        assertEquals(ROWS + 2, userReport.errors().get(0).line());
+        assertTrue(userRepository.existsByEmail(prefix + "-" + (ROWS - 1) + "@import.com"));
+
+        int indexed = balanceIndex.size();
+        ImportReport accountReport = importCsv("/api/import/accounts", accounts.toString());
+        assertEquals(ROWS + 1, accountReport.imported());
+        assertEquals(2, accountReport.failed());
+        assertEquals(indexed + ROWS + 1, balanceIndex.size());
+    }
+
+    @Test
+    void shouldRejectMissingColumns() throws Exception {
+        mockMvc.perform(post("/api/import/users")
+                        .contentType("text/csv")
+                        .content("name\nJohn\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ImportReport importCsv(String path, String csv) throws Exception {
+        String body = mockMvc.perform(post(path)
+                        .contentType("text/csv")
+                        .content(csv.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return objectMapper.readValue(body, ImportReport.class);
+    }
+}
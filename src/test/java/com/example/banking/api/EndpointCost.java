@@ -0,0 +1,16 @@
+package com.example.banking.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+record EndpointCost(long statements, long rows, Long allocatedBytes) {
+
+    EndpointCost min(EndpointCost other) {
+        return new EndpointCost(
+                Math.min(statements, other.statements),
+                Math.min(rows, other.rows),
+                allocatedBytes == null || other.allocatedBytes == null
+                        ? null
+                        : Math.min(allocatedBytes, other.allocatedBytes));
+    }
+}
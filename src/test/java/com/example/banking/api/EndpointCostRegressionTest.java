@@ -0,0 +1,299 @@
+package com.example.banking.api;
+
+import com.example.banking.cache.UserEmailCache;
+import com.example.banking.dto.accountDto.AccountRequest;
+import com.example.banking.entity.User;
+import com.example.banking.money.Money;
+import com.example.banking.repository.UserRepository;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.UserService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:endpoint_costs;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "banking.balance-index.check-interval=PT1H",
+        "banking.total-balance.reconcile-interval=PT1H",
+        "banking.journal.snapshot-interval=PT1H",
+        "banking.idempotency.cleanup-interval=PT1H"
+})
+@AutoConfigureMockMvc
+class EndpointCostRegressionTest {
+    private static final String BASELINE_RESOURCE = "/baselines/endpoint-costs.json";
+    private static final Path BASELINE_SOURCE = Path.of("src/test/resources/baselines/endpoint-costs.json");
+    private static final Path REPORT = Path.of("target/endpoint-costs.json");
+    private static final boolean UPDATE = Boolean.getBoolean("banking.baselines.update");
+    private static final double ALLOCATION_TOLERANCE =
+            Double.parseDouble(System.getProperty("banking.baselines.allocation-tolerance", "0.5"));
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .build();
+    private static final Map<String, EndpointCost> BASELINES = loadBaselines();
+    private static final Map<String, EndpointCost> MEASURED = new TreeMap<>();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserEmailCache userEmailCache;
+
+    static Stream<Scenario> scenarios() {
+        return Stream.of(
+                new Scenario("create-user", f -> post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json("name", "Cost", "email", f.token() + "-new@cost.com"))),
+                new Scenario("bulk-create-users", f -> post("/api/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + json("name", "Cost", "email", f.token() + "-1@cost.com") + ","
+                                + json("name", "Cost", "email", f.token() + "-2@cost.com") + "]")),
+                new Scenario("user-by-id", f -> get("/api/users/{id}", f.userId())),
+                new Scenario("user-by-email", f -> get("/api/users/email").param("email", f.email())),
+                new Scenario("users-page", f -> get("/api/users/").param("size", "10")),
+                new Scenario("users-stream", f -> get("/api/users/stream")),
+                new Scenario("update-user", f -> patch("/api/users/{id}", f.userId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json("name", "Renamed", "email", f.email()))),
+                new Scenario("delete-user", f -> delete("/api/users/{id}", f.userId())),
+                new Scenario("users-above", f -> get("/api/users/above").param("amount", "50")),
+                new Scenario("users-above-export", f -> get("/api/users/above/export")
+                        .param("amount", "50")
+                        .param("format", "csv")),
+                new Scenario("create-account", f -> post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json("accountNumber", f.token() + "-new", "userEmail", f.email()))),
+                new Scenario("bulk-create-accounts", f -> post("/api/accounts/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + json("accountNumber", f.token() + "-3", "userEmail", f.email()) + ","
+                                + json("accountNumber", f.token() + "-4", "userEmail", f.email()) + "]")),
+                new Scenario("deposit", f -> patch("/api/accounts/deposit/{id}", f.firstAccountId())
+                        .param("amount", "10")),
+                new Scenario("withdraw", f -> patch("/api/accounts/withDraw/{id}", f.firstAccountId())
+                        .param("amount", "10")),
+                new Scenario("transfer", f -> post("/api/accounts/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromAccountId\":" + f.firstAccountId()
+                                + ",\"toAccountId\":" + f.secondAccountId() + ",\"amount\":10}")),
+                new Scenario("accounts-by-email", f -> get("/api/accounts").param("userEmail", f.email())),
+                new Scenario("delete-account", f -> delete("/api/accounts/{id}", f.firstAccountId())),
+                new Scenario("total-balance", f -> get("/api/accounts/total-balance")),
+                new Scenario("top-accounts", f -> get("/api/accounts/top").param("limit", "10")),
+                new Scenario("accounts-in-range", f -> get("/api/accounts/range")
+                        .param("min", "50")
+                        .param("max", "500")),
+                new Scenario("reconstructed-balance", f -> get("/api/accounts/{id}/reconstructed-balance",
+                        f.firstAccountId())),
+                new Scenario("batch", f -> post("/api/accounts/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"accountId\":" + f.firstAccountId() + ",\"type\":\"DEPOSIT\",\"amount\":10},"
+                                + "{\"accountId\":" + f.secondAccountId() + ",\"type\":\"WITHDRAW\",\"amount\":10}]")),
+                new Scenario("import-users", f -> post("/api/import/users")
+                        .contentType("text/csv")
+                        .content("name,email\nCost," + f.token() + "-import@cost.com\n")),
+                new Scenario("import-accounts", f -> post("/api/import/accounts")
+                        .contentType("text/csv")
+                        .content("accountNumber,userEmail\n" + f.token() + "-import," + f.email() + "\n"))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("scenarios")
+    void endpointCostShouldNotExceedBaseline(Scenario scenario) throws Exception {
+        EndpointCost measured = measure(scenario);
+        synchronized (MEASURED) {
+            MEASURED.put(scenario.name(), measured);
+        }
+        EndpointCost baseline = BASELINES.get(scenario.name());
+        assumeFalse(UPDATE, () -> "Recorded baseline for " + scenario.name() + ": " + measured);
+        assertTrue(baseline != null && baseline.allocatedBytes() != null,
+                () -> "No baseline for " + scenario.name() + ", measured " + measured
+                        + "; record it with -Dbanking.baselines.update=true");
+
+        assertAll(
+                () -> assertTrue(measured.statements() <= baseline.statements(),
+                        () -> scenario.name() + " issued " + measured.statements()
+                                + " statements, baseline " + baseline.statements()),
+                () -> assertTrue(measured.rows() <= baseline.rows(),
+                        () -> scenario.name() + " fetched " + measured.rows() + " rows, baseline " + baseline.rows()),
+                () -> assertTrue(measured.allocatedBytes() <= baseline.allocatedBytes() * (1 + ALLOCATION_TOLERANCE),
+                        () -> scenario.name() + " allocated " + measured.allocatedBytes()
+                                + " bytes, baseline " + baseline.allocatedBytes()));
+    }
+
+    @AfterAll
+    static void writeMeasurements() throws IOException {
+        Files.createDirectories(REPORT.getParent());
+        OBJECT_MAPPER.writeValue(REPORT.toFile(), MEASURED);
+        if (UPDATE) {
+            Map<String, EndpointCost> updated = new TreeMap<>(BASELINES);
+            updated.putAll(MEASURED);
+            Files.createDirectories(BASELINE_SOURCE.getParent());
+            OBJECT_MAPPER.writeValue(BASELINE_SOURCE.toFile(), updated);
+        }
+    }
+
+    private EndpointCost measure(Scenario scenario) throws Exception {
+        EndpointCost best = null;
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            MockHttpServletRequestBuilder request = scenario.request().apply(createFixture());
+            CountingDataSource.Counts counts = CountingDataSource.startCounting();
+            Map<Long, Long> allocatedBefore = allocatedBytesByThread();
+            int status;
+            try {
+                status = perform(request);
+            } finally {
+                CountingDataSource.stopCounting();
+            }
+            long allocated = allocatedSince(allocatedBefore);
+            removeAllUsers();
+            assertTrue(status >= 200 && status < 300, () -> scenario.name() + " answered " + status);
+            if (run >= WARMUP_RUNS) {
+                EndpointCost cost = new EndpointCost(counts.statements(), counts.rows(), allocated);
+                best = best == null ? cost : best.min(cost);
+            }
+        }
+        return best;
+    }
+
+    private static Map<Long, Long> allocatedBytesByThread() {
+        long[] ids = THREADS.getAllThreadIds();
+        long[] allocated = THREADS.getThreadAllocatedBytes(ids);
+        Map<Long, Long> byThread = new HashMap<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            if (allocated[i] >= 0) {
+                byThread.put(ids[i], allocated[i]);
+            }
+        }
+        return byThread;
+    }
+
+    private static long allocatedSince(Map<Long, Long> before) {
+        long allocated = 0;
+        for (Map.Entry<Long, Long> thread : allocatedBytesByThread().entrySet()) {
+            allocated += thread.getValue() - before.getOrDefault(thread.getKey(), 0L);
+        }
+        return allocated;
+    }
+
+    private int perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result.getResponse().getStatus();
+    }
+
+    private Fixture createFixture() {
+        String token = UUID.randomUUID().toString();
+        User user = new User();
+        user.setName("Cost");
+        user.setEmail(token + "@cost.com");
+        user.setRegistrationDate(LocalDate.now());
+        userRepository.save(user);
+        Long first = openAccount(token + "-1", user.getEmail(), Money.ofMajor(100));
+        Long second = openAccount(token + "-2", user.getEmail(), Money.ofMajor(200));
+        userEmailCache.invalidate(user.getEmail());
+        return new Fixture(token, user.getId(), user.getEmail(), first, second);
+    }
+
+    private Long openAccount(String accountNumber, String email, Money balance) {
+        Long id = accountService.createAccount(new AccountRequest(accountNumber, email)).id();
+        accountService.deposit(id, balance);
+        return id;
+    }
+
+    private void removeAllUsers() {
+        userRepository.findAll().forEach(user -> userService.deleteById(user.getId()));
+    }
+
+    private static String json(String firstKey, String firstValue, String secondKey, String secondValue) {
+        return "{\"" + firstKey + "\":\"" + firstValue + "\",\"" + secondKey + "\":\"" + secondValue + "\"}";
+    }
+
+    private static Map<String, EndpointCost> loadBaselines() {
+        try (InputStream baselines = EndpointCostRegressionTest.class.getResourceAsStream(BASELINE_RESOURCE)) {
+            return baselines == null
+                    ? new TreeMap<>()
+                    : OBJECT_MAPPER.readValue(baselines, new TypeReference<TreeMap<String, EndpointCost>>() {
+                    });
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + BASELINE_RESOURCE, e);
+        }
+    }
+
+    record Scenario(String name, Function<Fixture, MockHttpServletRequestBuilder> request) {
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    record Fixture(String token, Long userId, String email, Long firstAccountId, Long secondAccountId) {
+    }
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)
+                            ? new CountingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+}
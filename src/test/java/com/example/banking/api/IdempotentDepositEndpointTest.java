@@ -0,0 +1,85 @@
+package com.example.banking.api;
+
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.service.AccountFixture;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "banking.idempotency.persistent=true")
+@AutoConfigureMockMvc
+class IdempotentDepositEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Long accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = new AccountFixture(userService, accountService).createAccount("Idempotent", Money.ZERO);
+    }
+
+    @Test
+    void retryShouldReplayStoredResponseWithoutSecondCredit() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        mockMvc.perform(deposit(key)).andExpect(status().isOk());
+        mockMvc.perform(deposit(key)).andExpect(status().isOk());
+
+        assertEquals(Money.ofMajor(10), balance());
+        assertEquals("COMPLETED", jdbcTemplate.queryForObject(
+                "SELECT status FROM idempotency_keys WHERE idempotency_key = ?", String.class, key));
+    }
+
+    @Test
+    void keyReservedByAnotherNodeShouldBeRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        jdbcTemplate.update("""
+                INSERT INTO idempotency_keys (idempotency_key, fingerprint, status, created_at)
+                VALUES (?, ?, 'IN_PROGRESS', ?)
+                """, key, "deposit:" + accountId + ":" + Money.ofMajor(10).minorUnits(), Timestamp.from(Instant.now()));
+
+        mockMvc.perform(deposit(key)).andExpect(status().isConflict());
+
+        assertEquals(Money.ZERO, balance());
+    }
+
+    private MockHttpServletRequestBuilder deposit(String key) {
+        return patch("/api/accounts/deposit/{id}", accountId)
+                .param("amount", "10")
+                .header("Idempotency-Key", key);
+    }
+
+    private Money balance() {
+        return accountRepository.findById(accountId).orElseThrow().getBalance();
+    }
+}
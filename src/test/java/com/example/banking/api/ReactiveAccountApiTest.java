@@ -0,0 +1,143 @@
+package com.example.banking.api;
+
+import com.example.banking.dto.accountDto.AccountRequest;
+import com.example.banking.dto.userDto.UserRequest;
+import com.example.banking.money.Money;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.UserService;
+import com.example.banking.service.balance.TotalBalanceTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "banking.reactive.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:reactive_accounts;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "banking.reactive.r2dbc.url=r2dbc:h2:mem:///reactive_accounts?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "banking.reactive.r2dbc.username=sa"
+})
+@AutoConfigureMockMvc
+class ReactiveAccountApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TotalBalanceTracker totalBalanceTracker;
+
+    private String email;
+    private Long firstId;
+    private Long secondId;
+
+    @BeforeEach
+    void setUp() {
+        email = UUID.randomUUID() + "@reactive.com";
+        userService.createUser(new UserRequest("Reactive", email));
+        firstId = accountService.createAccount(new AccountRequest(UUID.randomUUID().toString(), email)).id();
+        secondId = accountService.createAccount(new AccountRequest(UUID.randomUUID().toString(), email)).id();
+        accountService.deposit(firstId, Money.ofMajor(100));
+    }
+
+    @Test
+    void depositShouldUpdateBalanceJournalAndAggregates() throws Exception {
+        Money totalBefore = totalBalanceTracker.total();
+
+        perform(patch("/api/reactive/accounts/deposit/{id}", firstId).param("amount", "25.50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(firstId))
+                .andExpect(jsonPath("$.amount").value(125.50));
+
+        perform(get("/api/reactive/accounts/{id}", firstId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.amount").value(125.50));
+        assertEquals(Money.valueOf("125.50"), accountService.reconstructBalance(firstId));
+        assertEquals(totalBefore.plus(Money.valueOf("25.50")), totalBalanceTracker.total());
+    }
+
+    @Test
+    void withdrawShouldRejectInsufficientBalance() throws Exception {
+        perform(patch("/api/reactive/accounts/withDraw/{id}", firstId).param("amount", "100.01"))
+                .andExpect(status().isBadRequest());
+
+        perform(patch("/api/reactive/accounts/withDraw/{id}", firstId).param("amount", "40"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.amount").value(60.00));
+    }
+
+    @Test
+    void transferShouldMoveFundsBetweenAccounts() throws Exception {
+        perform(post("/api/reactive/accounts/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"fromAccountId\":" + firstId + ",\"toAccountId\":" + secondId + ",\"amount\":30}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from.amount").value(70.00))
+                .andExpect(jsonPath("$.to.amount").value(30.00));
+
+        perform(get("/api/reactive/accounts").param("userEmail", email))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void failedTransferShouldRollBack() throws Exception {
+        perform(post("/api/reactive/accounts/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"fromAccountId\":" + secondId + ",\"toAccountId\":" + firstId + ",\"amount\":30}"))
+                .andExpect(status().isBadRequest());
+
+        perform(get("/api/reactive/accounts/{id}", firstId))
+                .andExpect(jsonPath("$.amount").value(100.00));
+    }
+
+    @Test
+    void retriedDepositWithIdempotencyKeyShouldCreditOnce() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        for (int i = 0; i < 2; i++) {
+            perform(patch("/api/reactive/accounts/deposit/{id}", firstId)
+                    .param("amount", "10")
+                    .header("Idempotency-Key", key))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.amount").value(110.00));
+        }
+
+        perform(get("/api/reactive/accounts/{id}", firstId))
+                .andExpect(jsonPath("$.amount").value(110.00));
+    }
+
+    @Test
+    void unknownAccountShouldReturnNotFound() throws Exception {
+        perform(patch("/api/reactive/accounts/deposit/{id}", Long.MAX_VALUE).param("amount", "1"))
+                .andExpect(status().isNotFound());
+        perform(get("/api/reactive/accounts/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.banking.api;
+
+import com.example.banking.entity.User;
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.repository.UserRepository;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.importer.CsvImportService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ReadEndpointStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CsvImportService csvImportService;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = new User();
+        user.setName("Reader");
+        user.setEmail(UUID.randomUUID() + "@mail.com");
+        user.setRegistrationDate(LocalDate.now());
+        userRepository.save(user);
+        createAccount(Money.ofMajor(100));
+        createAccount(Money.ofMajor(200));
+    }
+
+    @Test
+    void accountsByEmailShouldIssueSingleStatement() throws Exception {
+        assertStatements(1, get("/api/accounts").param("userEmail", user.getEmail()));
+    }
+
+    @Test
+    void userByIdShouldIssueSingleStatement() throws Exception {
+        assertStatements(1, get("/api/users/{id}", user.getId()));
+    }
+
+    @Test
+    void userByEmailShouldIssueSingleStatementThenHitCache() throws Exception {
+        assertStatements(1, get("/api/users/email").param("email", user.getEmail()));
+        assertStatements(0, get("/api/users/email").param("email", user.getEmail()));
+    }
+
+    @Test
+    void usersPageShouldIssueSingleStatement() throws Exception {
+        assertStatements(1, get("/api/users/").param("size", "10"));
+    }
+
+    @Test
+    void usersWithoutPagingShouldKeepListShapeInSingleStatement() throws Exception {
+        assertStatements(1, get("/api/users/"));
+        mockMvc.perform(get("/api/users/"))
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$[0].email").exists());
+    }
+
+    @Test
+    void usersAboveShouldIssueSingleStatement() throws Exception {
+        assertStatements(1, get("/api/users/above").param("amount", "150"));
+    }
+
+    @Test
+    void totalBalanceShouldNotTouchDatabase() throws Exception {
+        assertStatements(0, get("/api/accounts/total-balance"));
+    }
+
+    private void assertStatements(long expected, MockHttpServletRequestBuilder request) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        assertEquals(expected, statistics.getPrepareStatementCount());
+    }
+
+    private void createAccount(Money balance) {
+        String accountNumber = UUID.randomUUID().toString();
+        String csv = "accountNumber,userEmail\n" + accountNumber + "," + user.getEmail() + "\n";
+        csvImportService.importAccounts(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        Long id = accountRepository.findAccountsByUser_Email(user.getEmail()).stream()
+                .filter(account -> account.getAccountNumber().equals(accountNumber))
+                .findFirst().orElseThrow().getId();
+        accountService.deposit(id, balance);
+    }
+}
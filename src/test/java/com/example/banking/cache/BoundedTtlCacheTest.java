@@ -0,0 +1,56 @@
+package com.example.banking.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BoundedTtlCacheTest {
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void shouldCountHitsAndMisses() {
+        BoundedTtlCache<String, Long> cache = new BoundedTtlCache<>(10, Duration.ofMinutes(1), now::get);
+        cache.put("a@mail.com", 1L);
+
+        assertEquals(Optional.of(1L), cache.get("a@mail.com"));
+        assertEquals(Optional.empty(), cache.get("b@mail.com"));
+        assertEquals(new CacheStats(1, 1, 0, 1), cache.stats());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedWhenFull() {
+        BoundedTtlCache<String, Long> cache = new BoundedTtlCache<>(2, Duration.ofMinutes(1), now::get);
+        cache.put("a", 1L);
+        cache.put("b", 2L);
+        cache.get("a");
+        cache.put("c", 3L);
+
+        assertEquals(Optional.of(1L), cache.get("a"));
+        assertEquals(Optional.empty(), cache.get("b"));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTtl() {
+        BoundedTtlCache<String, Long> cache = new BoundedTtlCache<>(10, Duration.ofSeconds(5), now::get);
+        cache.put("a", 1L);
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+
+        assertEquals(Optional.empty(), cache.get("a"));
+        assertEquals(0, cache.stats().size());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    void invalidateShouldRemoveEntry() {
+        BoundedTtlCache<String, Long> cache = new BoundedTtlCache<>(10, Duration.ofMinutes(1), now::get);
+        cache.put("a", 1L);
+        cache.invalidate("a");
+
+        assertEquals(Optional.empty(), cache.get("a"));
+    }
+}
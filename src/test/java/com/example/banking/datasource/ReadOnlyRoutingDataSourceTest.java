@@ -0,0 +1,101 @@
+package com.example.banking.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadOnlyRoutingDataSourceTest {
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaHealthMonitor replicaHealthMonitor;
+    private JdbcTemplate routed;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        DataSource primaryDataSource = h2("primary_" + suffix);
+        DataSource replicaDataSource = h2("replica_" + suffix);
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        primary.execute("CREATE TABLE node (name VARCHAR(16))");
+        primary.update("INSERT INTO node VALUES ('primary')");
+        replica.execute("CREATE TABLE node (name VARCHAR(16))");
+        replica.update("INSERT INTO node VALUES ('replica')");
+        replica.execute("CREATE TABLE replication_status (lag_seconds DOUBLE PRECISION)");
+        replica.update("INSERT INTO replication_status VALUES (0)");
+
+        replicaHealthMonitor = new ReplicaHealthMonitor(replicaDataSource,
+                "SELECT lag_seconds FROM replication_status", Duration.ofSeconds(5), Duration.ofSeconds(1));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadOnlyRoutingDataSource(primaryDataSource, replicaDataSource, replicaHealthMonitor));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        routed = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactionsShouldGoToHealthyReplica() {
+        replicaHealthMonitor.check();
+
+        assertTrue(replicaHealthMonitor.isAvailable());
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+        assertEquals("primary", readWrite.execute(status -> currentNode()));
+        assertEquals("primary", currentNode());
+    }
+
+    @Test
+    void shouldUsePrimaryUntilReplicaIsChecked() {
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaLagsBehind() {
+        replicaHealthMonitor.check();
+        replica.update("UPDATE replication_status SET lag_seconds = 30");
+
+        replicaHealthMonitor.check();
+
+        assertFalse(replicaHealthMonitor.isAvailable());
+        assertEquals(Duration.ofSeconds(30), replicaHealthMonitor.lastLag());
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+
+        replica.update("UPDATE replication_status SET lag_seconds = 1");
+        replicaHealthMonitor.check();
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsUnavailable() {
+        replicaHealthMonitor.check();
+        replica.execute("DROP TABLE replication_status");
+
+        replicaHealthMonitor.check();
+
+        assertFalse(replicaHealthMonitor.isAvailable());
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+    }
+
+    private String currentNode() {
+        return routed.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
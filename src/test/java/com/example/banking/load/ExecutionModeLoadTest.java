@@ -0,0 +1,40 @@
+package com.example.banking.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+class ExecutionModeLoadTest {
+    private static final int TOMCAT_THREADS = 20;
+    private static final double MIN_THROUGHPUT_RATIO =
+            Double.parseDouble(System.getProperty("banking.load.virtual.min-throughput-ratio", "0.5"));
+    private static final double MAX_P99_RATIO =
+            Double.parseDouble(System.getProperty("banking.load.virtual.max-p99-ratio", "2.0"));
+
+    @Test
+    void virtualThreadsShouldNotRegressAgainstPlatformThreads() throws Exception {
+        LoadConfig config = LoadConfig.fromSystemProperties();
+        LoadReport platform = run(config, "platform");
+        LoadReport virtual = run(config, "virtual");
+        String comparison = String.format("platform: %s%nvirtual: %s", platform, virtual);
+
+        assertEquals(0, platform.overall().errors(), comparison);
+        assertEquals(0, virtual.overall().errors(), comparison);
+        assertTrue(virtual.throughput() >= platform.throughput() * MIN_THROUGHPUT_RATIO, comparison);
+        assertTrue(virtual.overall().p99Millis() <= platform.overall().p99Millis() * MAX_P99_RATIO, comparison);
+    }
+
+    private LoadReport run(LoadConfig config, String mode) throws Exception {
+        LoadReport report;
+        try (LoadHarness harness = LoadHarness.start(config,
+                "--banking.execution.mode=" + mode,
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS)) {
+            report = harness.run();
+        }
+        report.write(config.reportPath().resolveSibling("execution-mode-" + mode + ".json"));
+        return report;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.banking.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("load")
+class HttpLoadTest {
+
+    @Test
+    void replayedMixStaysWithinThresholds() throws Exception {
+        LoadConfig config = LoadConfig.fromSystemProperties();
+        LoadReport report;
+        try (LoadHarness harness = LoadHarness.start(config)) {
+            report = harness.run();
+        }
+        report.write(config.reportPath());
+
+        assertEquals(List.of(), report.violations(config),
+                () -> report + System.lineSeparator() + "Load report: " + config.reportPath().toAbsolutePath());
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.banking.load;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+record LoadConfig(int users,
+                  int accountsPerUser,
+                  int warmupRequests,
+                  int requests,
+                  int concurrency,
+                  Map<LoadOperation, Integer> mix,
+                  Path reportPath,
+                  double maxP99Millis,
+                  double maxErrorRate,
+                  double minThroughput) {
+
+    private static final String PREFIX = "banking.load.";
+    private static final String DEFAULT_MIX =
+            "GET_USER:25,ACCOUNTS_BY_EMAIL:15,DEPOSIT:20,WITHDRAW:10,TRANSFER:15,TOP_ACCOUNTS:10,USERS_ABOVE:5";
+
+    static LoadConfig fromSystemProperties() {
+        return new LoadConfig(
+                intProperty("users", 200),
+                intProperty("accounts-per-user", 2),
+                intProperty("warmup-requests", 2_000),
+                intProperty("requests", 20_000),
+                intProperty("concurrency", 64),
+                parseMix(System.getProperty(PREFIX + "mix", DEFAULT_MIX)),
+                Path.of(System.getProperty(PREFIX + "report", "target/load/load-report.json")),
+                doubleProperty("max-p99-ms", 250),
+                doubleProperty("max-error-rate", 0.001),
+                doubleProperty("min-throughput", 200));
+    }
+
+    LoadConfig with(int concurrency, Map<LoadOperation, Integer> mix) {
+        return new LoadConfig(users, accountsPerUser, warmupRequests, requests, concurrency, mix,
+                reportPath, maxP99Millis, maxErrorRate, minThroughput);
+    }
+
+    static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entry must look like OPERATION:weight, got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight must not be negative: " + entry);
+            }
+            weights.put(LoadOperation.valueOf(parts[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix must contain at least one positive weight");
+        }
+        return weights;
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(PREFIX + name, String.valueOf(defaultValue)));
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        return Double.parseDouble(System.getProperty(PREFIX + name, String.valueOf(defaultValue)));
+    }
+}
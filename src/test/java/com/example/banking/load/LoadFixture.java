@@ -0,0 +1,19 @@
+package com.example.banking.load;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+record LoadFixture(List<Long> userIds, List<String> emails, List<Long> accountIds) {
+
+    long randomUserId(ThreadLocalRandom random) {
+        return userIds.get(random.nextInt(userIds.size()));
+    }
+
+    String randomEmail(ThreadLocalRandom random) {
+        return emails.get(random.nextInt(emails.size()));
+    }
+
+    long randomAccountId(ThreadLocalRandom random) {
+        return accountIds.get(random.nextInt(accountIds.size()));
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.banking.load;
+
+import com.example.banking.TestBankingSystemApplication;
+import com.example.banking.dto.accountDto.AccountRequest;
+import com.example.banking.dto.userDto.UserRequest;
+import com.example.banking.money.Money;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.UserService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+final class LoadHarness implements AutoCloseable {
+    private static final Money OPENING_BALANCE = Money.ofMajor(1_000_000);
+
+    private final LoadConfig config;
+    private final ConfigurableApplicationContext context;
+    private final ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client;
+    private final URI baseUri;
+    private final LoadFixture fixture;
+    private final LoadOperation[] schedule;
+
+    private LoadHarness(LoadConfig config, ConfigurableApplicationContext context) {
+        this.config = config;
+        this.context = context;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+        this.baseUri = URI.create("http://localhost:"
+                + ((WebServerApplicationContext) context).getWebServer().getPort());
+        this.fixture = seed();
+        this.schedule = schedule(config.mix());
+    }
+
+    static LoadHarness start(LoadConfig config, String... args) {
+        String database = "load_" + UUID.randomUUID();
+        Map<String, String> arguments = new LinkedHashMap<>();
+        arguments.put("server.port", "0");
+        arguments.put("spring.datasource.url", "jdbc:h2:mem:" + database
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        arguments.put("spring.datasource.hikari.maximum-pool-size",
+                String.valueOf(Math.max(10, config.concurrency() / 2)));
+        arguments.put("banking.reactive.r2dbc.url", "r2dbc:h2:mem:///" + database
+                + "?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        arguments.put("banking.reactive.r2dbc.username", "sa");
+        arguments.put("logging.level.root", "warn");
+        arguments.put("logging.level.com.example.banking", "warn");
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            arguments.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TestBankingSystemApplication.class)
+                .run(arguments.entrySet().stream()
+                        .map(argument -> "--" + argument.getKey() + "=" + argument.getValue())
+                        .toArray(String[]::new));
+        try {
+            return new LoadHarness(config, context);
+        } catch (RuntimeException e) {
+            context.close();
+            throw e;
+        }
+    }
+
+    LoadReport run() throws InterruptedException {
+        execute(config.warmupRequests(), null);
+        Map<LoadOperation, OperationRecorder> recorders = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : LoadOperation.values()) {
+            recorders.put(operation, new OperationRecorder());
+        }
+        long elapsed = execute(config.requests(), recorders);
+        return LoadReport.of(config, elapsed, recorders);
+    }
+
+    private long execute(int requests, Map<LoadOperation, OperationRecorder> recorders) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(config.concurrency());
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        send(recorders);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void send(Map<LoadOperation, OperationRecorder> recorders) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LoadOperation operation = schedule[random.nextInt(schedule.length)];
+        long sent = System.nanoTime();
+        boolean successful;
+        try {
+            int status = client.send(operation.request(baseUri, fixture, random),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+            successful = status >= 200 && status < 300;
+        } catch (IOException e) {
+            successful = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            successful = false;
+        }
+        if (recorders != null) {
+            recorders.get(operation).record(System.nanoTime() - sent, successful);
+        }
+    }
+
+    private LoadFixture seed() {
+        UserService userService = context.getBean(UserService.class);
+        AccountService accountService = context.getBean(AccountService.class);
+        List<Long> userIds = new ArrayList<>(config.users());
+        List<String> emails = new ArrayList<>(config.users());
+        List<Long> accountIds = new ArrayList<>(config.users() * config.accountsPerUser());
+        for (int i = 0; i < config.users(); i++) {
+            String email = UUID.randomUUID() + "@load.com";
+            userIds.add(userService.createUser(new UserRequest("Load " + i, email)).id());
+            emails.add(email);
+            for (int j = 0; j < config.accountsPerUser(); j++) {
+                Long accountId = accountService.createAccount(
+                        new AccountRequest(UUID.randomUUID().toString(), email)).id();
+                accountService.deposit(accountId, OPENING_BALANCE);
+                accountIds.add(accountId);
+            }
+        }
+        return new LoadFixture(userIds, emails, accountIds);
+    }
+
+    private static LoadOperation[] schedule(Map<LoadOperation, Integer> mix) {
+        List<LoadOperation> schedule = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                schedule.add(operation);
+            }
+        });
+        return schedule.toArray(LoadOperation[]::new);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        clientExecutor.close();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.banking.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+enum LoadOperation {
+    GET_USER {
+        @Override
+        HttpRequest request(URI base, LoadFixture fixture, ThreadLocalRandom random) {
+            return get(base, "/api/users/" + fixture.randomUserId(random));
+        }
+    },
+    ACCOUNTS_BY_EMAIL {
+        @Override
+        HttpRequest request(URI base, LoadFixture fixture, ThreadLocalRandom random) {
+            return get(base, "/api/accounts?userEmail="
+                    + URLEncoder.encode(fixture.randomEmail(random), StandardCharsets.UTF_8));
+        }
+    },
+    DEPOSIT {
+        @Override
+        HttpRequest request(URI base, LoadFixture fixture, ThreadLocalRandom random) {
+            return patch(base, "/api/accounts/deposit/" + fixture.randomAccountId(random) + "?amount=1.00");
+        }
+    },
+    WITHDRAW {
+        @Override
+        HttpRequest request(URI base, LoadFixture fixture, ThreadLocalRandom random) {
+            return patch(base, "/api/accounts/withDraw/" + fixture.randomAccountId(random) + "?amount=1.00");
+        }
+    },
+    TRANSFER {
+        @Override
+        HttpRequest request(URI base, LoadFixture fixture, ThreadLocalRandom random) {
+            long from = fixture.randomAccountId(random);
+            long to = fixture.randomAccountId(random);
+            while (to == from && fixture.accountIds().size() > 1) {
+                to = fixture.randomAccountId(random);
+            }
+            String body = "{\"fromAccountId\":" + from + ",\"toAccountId\":" + to + ",\"amount\":1.00}";
+            return HttpRequest.newBuilder(base.resolve("/api/accounts/transfer"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    },
+    TOP_ACCOUNTS {
+        @Override
+        HttpRequest request(URI base, LoadFixture fixture, ThreadLocalRandom random) {
+            return get(base, "/api/accounts/top?limit=10");
+        }
+    },
+    USERS_ABOVE {
+        @Override
+        HttpRequest request(URI base, LoadFixture fixture, ThreadLocalRandom random) {
+            return get(base, "/api/users/above?amount=" + random.nextInt(1_000, 1_000_000) + "&size=20");
+        }
+    },
+
+    REACTIVE_ACCOUNTS_BY_EMAIL {
+        @Override
+        HttpRequest request(URI base, LoadFixture fixture, ThreadLocalRandom random) {
+            return get(base, "/api/reactive/accounts?userEmail="
+                    + URLEncoder.encode(fixture.randomEmail(random), StandardCharsets.UTF_8));
+        }
+    },
+    REACTIVE_DEPOSIT {
+        @Override
+        HttpRequest request(URI base, LoadFixture fixture, ThreadLocalRandom random) {
+            return patch(base, "/api/reactive/accounts/deposit/" + fixture.randomAccountId(random) + "?amount=1.00");
+        }
+    },
+    REACTIVE_WITHDRAW {
+        @Override
+        HttpRequest request(URI base, LoadFixture fixture, ThreadLocalRandom random) {
+            return patch(base, "/api/reactive/accounts/withDraw/" + fixture.randomAccountId(random) + "?amount=1.00");
+        }
+    };
+
+    abstract HttpRequest request(URI base, LoadFixture fixture, ThreadLocalRandom random);
+
+    private static HttpRequest get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).GET().build();
+    }
+
+    private static HttpRequest patch(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+}
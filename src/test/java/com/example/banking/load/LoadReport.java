@@ -0,0 +1,113 @@
+package com.example.banking.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+record LoadReport(String finishedAt,
+                  int concurrency,
+                  Map<LoadOperation, Integer> mix,
+                  double durationSeconds,
+                  double throughput,
+                  LatencySummary overall,
+                  Map<LoadOperation, LatencySummary> operations) {
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .build();
+
+    static LoadReport of(LoadConfig config, long elapsedNanos, Map<LoadOperation, OperationRecorder> recorders) {
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        Map<LoadOperation, LatencySummary> operations = new EnumMap<>(LoadOperation.class);
+        for (Map.Entry<LoadOperation, OperationRecorder> entry : recorders.entrySet()) {
+            OperationRecorder recorder = entry.getValue();
+            if (recorder.latencies().getTotalCount() == 0) {
+                continue;
+            }
+            total.add(recorder.latencies());
+            totalErrors += recorder.errors();
+            operations.put(entry.getKey(), LatencySummary.of(recorder.latencies(), recorder.errors()));
+        }
+        double durationSeconds = elapsedNanos / 1_000_000_000.0;
+        return new LoadReport(
+                Instant.now().toString(),
+                config.concurrency(),
+                config.mix(),
+                durationSeconds,
+                total.getTotalCount() / durationSeconds,
+                LatencySummary.of(total, totalErrors),
+                operations);
+    }
+
+    List<String> violations(LoadConfig config) {
+        List<String> violations = new ArrayList<>();
+        if (overall.p99Millis() > config.maxP99Millis()) {
+            violations.add(String.format("p99 %.2f ms exceeds %.2f ms", overall.p99Millis(), config.maxP99Millis()));
+        }
+        if (overall.errorRate() > config.maxErrorRate()) {
+            violations.add(String.format("error rate %.4f exceeds %.4f", overall.errorRate(), config.maxErrorRate()));
+        }
+        if (throughput < config.minThroughput()) {
+            violations.add(String.format("throughput %.0f req/s is below %.0f req/s", throughput, config.minThroughput()));
+        }
+        return violations;
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        OBJECT_MAPPER.writeValue(path.toFile(), this);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder(String.format("%.0f req/s over %.1f s, overall %s",
+                throughput, durationSeconds, overall));
+        operations.forEach((operation, latency) ->
+                summary.append(System.lineSeparator()).append(String.format("  %-18s %s", operation, latency)));
+        return summary.toString();
+    }
+
+    record LatencySummary(long count,
+                          long errors,
+                          double errorRate,
+                          double p50Millis,
+                          double p99Millis,
+                          double p999Millis,
+                          double maxMillis) {
+
+        static LatencySummary of(Histogram histogram, long errors) {
+            long count = histogram.getTotalCount();
+            return new LatencySummary(
+                    count,
+                    errors,
+                    count == 0 ? 0 : (double) errors / count,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d errors=%d p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms",
+                    count, errors, p50Millis, p99Millis, p999Millis, maxMillis);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.banking.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+final class OperationRecorder {
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long latencyNanos, boolean successful) {
+        latencies.recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+        if (!successful) {
+            errors.increment();
+        }
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.banking.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+class ReactiveStackLoadTest {
+    private static final int TOMCAT_THREADS = 50;
+    private static final int POOL_SIZE = 20;
+    private static final int CONCURRENCY = Integer.getInteger("banking.load.reactive.concurrency", 2_000);
+    private static final String SERVLET_MIX = "ACCOUNTS_BY_EMAIL:1,DEPOSIT:1,WITHDRAW:1";
+    private static final String REACTIVE_MIX = "REACTIVE_ACCOUNTS_BY_EMAIL:1,REACTIVE_DEPOSIT:1,REACTIVE_WITHDRAW:1";
+    private static final double MIN_THROUGHPUT_RATIO =
+            Double.parseDouble(System.getProperty("banking.load.reactive.min-throughput-ratio", "0.5"));
+    private static final double MAX_P99_RATIO =
+            Double.parseDouble(System.getProperty("banking.load.reactive.max-p99-ratio", "2.0"));
+
+    @Test
+    void reactiveStackShouldNotRegressAgainstServletStack() throws Exception {
+        LoadConfig config = LoadConfig.fromSystemProperties();
+        LoadReport servlet = run(config.with(CONCURRENCY, LoadConfig.parseMix(SERVLET_MIX)), "servlet");
+        LoadReport reactive = run(config.with(CONCURRENCY, LoadConfig.parseMix(REACTIVE_MIX)), "reactive");
+        String comparison = String.format("servlet: %s%nreactive: %s", servlet, reactive);
+
+        assertEquals(0, servlet.overall().errors(), comparison);
+        assertEquals(0, reactive.overall().errors(), comparison);
+        assertTrue(reactive.throughput() >= servlet.throughput() * MIN_THROUGHPUT_RATIO, comparison);
+        assertTrue(reactive.overall().p99Millis() <= servlet.overall().p99Millis() * MAX_P99_RATIO, comparison);
+    }
+
+    private LoadReport run(LoadConfig config, String stack) throws Exception {
+        LoadReport report;
+        try (LoadHarness harness = LoadHarness.start(config,
+                "--banking.reactive.enabled=true",
+                "--banking.reactive.r2dbc.pool-size=" + POOL_SIZE,
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--server.tomcat.max-connections=" + (config.concurrency() * 2),
+                "--server.tomcat.accept-count=" + config.concurrency())) {
+            report = harness.run();
+        }
+        report.write(config.reportPath().resolveSibling("reactive-stack-" + stack + ".json"));
+        return report;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.banking.metrics;
+
+import com.example.banking.money.Money;
+import com.example.banking.service.AccountFixture;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.UserService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlStatementMetricsTest {
+    private static final String URI = "/api/accounts/{id}/reconstructed-balance";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Test
+    void statementsIssuedThroughJdbcTemplateShouldBeCounted() throws Exception {
+        Long id = new AccountFixture(userService, accountService).createAccount("Metrics", Money.ofMajor(10));
+
+        mockMvc.perform(get(URI, id)).andExpect(status().isOk());
+        DistributionSummary summary = meterRegistry.get("banking.sql.statements").tag("uri", URI).summary();
+        mockMvc.perform(get(URI, id)).andExpect(status().isOk());
+
+        assertSame(summary, meterRegistry.get("banking.sql.statements").tag("uri", URI).summary());
+        assertEquals(2, summary.count());
+        assertTrue(summary.max() > 0);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.banking.money;
+
+import com.example.banking.dto.accountDto.AccountResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoneyTest {
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Test
+    void shouldStoreAmountsAsMinorUnits() {
+        assertEquals(12345, Money.of(new BigDecimal("123.45")).minorUnits());
+        assertEquals(Money.ofMajor(5), Money.of(new BigDecimal("5.000")));
+        assertEquals(Money.ofMinor(-250), Money.valueOf(" -2.5 "));
+        assertEquals("0.10", Money.ofMinor(10).toString());
+    }
+
+    @Test
+    void shouldRejectAmountsFinerThanCurrencyScale() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("0.001")));
+        assertThrows(IllegalArgumentException.class, () -> Money.valueOf("abc"));
+    }
+
+    @Test
+    void shouldFailOnOverflowInsteadOfWrapping() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinor(1)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MIN_VALUE).negate());
+        assertThrows(IllegalArgumentException.class, () -> Money.of(max.toBigDecimal().add(BigDecimal.ONE)));
+    }
+
+    @Test
+    void shouldCompareByMinorUnits() {
+        assertTrue(Money.ofMajor(1).isLessThan(Money.ofMinor(101)));
+        assertEquals(0, Money.ofMajor(2).compareTo(Money.ofMinor(150).plus(Money.ofMinor(50))));
+        assertEquals(Money.ZERO, Money.ofMajor(3).minus(Money.ofMinor(300)));
+    }
+
+    @Test
+    void shouldRoundTripThroughJson() throws Exception {
+        AccountResponse response = new AccountResponse(1L, "acc", Money.valueOf("10.5"));
+
+        String json = objectMapper.writeValueAsString(response);
+
+        assertTrue(json.contains("\"amount\":10.50"));
+        assertEquals(response, objectMapper.readValue(json, AccountResponse.class));
+        assertEquals(Money.ofMajor(7), objectMapper.readValue("7", Money.class));
+    }
+}
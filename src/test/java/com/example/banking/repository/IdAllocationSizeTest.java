@@ -0,0 +1,56 @@
+package com.example.banking.repository;
+
+import com.example.banking.dto.userDto.UserRequest;
+import com.example.banking.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:id_allocation;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "banking.ids.allocation-size=7"
+})
+class IdAllocationSizeTest {
+    private static final int ALLOCATION_SIZE = 7;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void idsShouldStayInsideBlocksOfConfiguredSize() {
+        assertEquals(ALLOCATION_SIZE, increment("users_seq"));
+        assertEquals(ALLOCATION_SIZE, increment("accounts_seq"));
+
+        createUsers(20);
+        long otherNodeBlock = jdbcTemplate.queryForObject("SELECT nextval('users_seq')", Long.class);
+        createUsers(20);
+
+        assertEquals(40, jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM users", Integer.class));
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE id BETWEEN ? AND ?",
+                Integer.class, otherNodeBlock - ALLOCATION_SIZE + 1, otherNodeBlock));
+    }
+
+    private long increment(String sequence) {
+        return jdbcTemplate.queryForObject(
+                "SELECT increment FROM information_schema.sequences WHERE sequence_name = ?", Long.class, sequence);
+    }
+
+    private void createUsers(int count) {
+        List<UserRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new UserRequest("Ids", UUID.randomUUID() + "@ids.com"));
+        }
+        userService.createUsers(requests);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.banking.repository;
+
+import com.example.banking.metrics.SqlStatementCounter;
+import com.example.banking.money.Money;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:query_plan;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class QueryPlanTest {
+    private static final int USERS = 1000;
+    private static final int ACCOUNTS_PER_USER = 2;
+    private static final int TRANSACTIONS_PER_ACCOUNT = 5;
+    private static final String EMAIL = "user-10@plan.com";
+    private static final Money MIN_BALANCE = Money.ofMinor(990_000);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @BeforeAll
+    static void seed(@Autowired JdbcTemplate jdbcTemplate) {
+        Random random = new Random(42);
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> accounts = new ArrayList<>();
+        List<Object[]> transactions = new ArrayList<>();
+        List<Object[]> snapshots = new ArrayList<>();
+        List<Object[]> idempotencyKeys = new ArrayList<>();
+        Timestamp now = Timestamp.from(Instant.now());
+        long accountId = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            users.add(new Object[]{userId, "User " + userId, "user-" + userId + "@plan.com", Date.valueOf(LocalDate.now())});
+            idempotencyKeys.add(new Object[]{"key-" + userId, "fingerprint", "{}", now});
+            for (int i = 0; i < ACCOUNTS_PER_USER; i++) {
+                accountId++;
+                long balance = random.nextInt(1_000_000);
+                accounts.add(new Object[]{accountId, "acc-" + accountId, balance, userId});
+                snapshots.add(new Object[]{accountId, balance, 0L, now});
+                for (int j = 0; j < TRANSACTIONS_PER_ACCOUNT; j++) {
+                    transactions.add(new Object[]{accountId, 1L, "DEPOSIT", now});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email, registration_date) VALUES (?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO accounts (id, account_number, balance, user_id) VALUES (?, ?, ?, ?)", accounts);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO account_transactions (account_id, amount, transaction_type, created_at)
+                VALUES (?, ?, ?, ?)
+                """, transactions);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO account_balance_snapshots (account_id, balance, last_transaction_id, taken_at)
+                VALUES (?, ?, ?, ?)
+                """, snapshots);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO idempotency_keys (idempotency_key, fingerprint, response_body, created_at)
+                VALUES (?, ?, ?, ?)
+                """, idempotencyKeys);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    static Stream<Arguments> repositoryCalls() {
+        return Stream.of(
+                call("users.findById", test -> test.userRepository.findById(10L)),
+                call("users.findByEmail", test -> test.userRepository.findByEmail(EMAIL)),
+                call("users.existsByEmail", test -> test.userRepository.existsByEmail(EMAIL)),
+                call("users.findByEmailIn",
+                        test -> test.userRepository.findByEmailIn(List.of(EMAIL, "user-11@plan.com"))),
+                call("users.findExistingEmails",
+                        test -> test.userRepository.findExistingEmails(List.of(EMAIL, "user-11@plan.com"))),
+                call("users.findResponseById", test -> test.userRepository.findResponseById(10L)),
+                call("users.findResponseByEmail", test -> test.userRepository.findResponseByEmail(EMAIL)),
+                call("users.findUsersWithEmail", test -> test.userRepository.findUsersWithEmail(EMAIL)),
+                call("users.findPageAfter", test -> test.userRepository.findPageAfter(100L, PageRequest.ofSize(20))),
+                call("users.findUsersWithAllAccountsAbove",
+                        test -> test.userRepository.findUsersWithAllAccountsAbove(MIN_BALANCE)),
+                call("users.findUsersWithAccountsAbove",
+                        test -> test.userRepository.findUsersWithAccountsAbove(MIN_BALANCE, PageRequest.of(0, 20))),
+                call("users.streamUsersWithAccountsAbove", test -> {
+                    try (Stream<?> users = test.userRepository.streamUsersWithAccountsAbove(MIN_BALANCE)) {
+                        users.count();
+                    }
+                }),
+                call("users.accounts", test -> test.userRepository.findById(10L).orElseThrow().getAccounts().size()),
+                call("accounts.findById", test -> test.accountRepository.findById(10L)),
+                call("accounts.findByIdForUpdate", test -> test.accountRepository.findByIdForUpdate(10L)),
+                call("accounts.findAccountsByUser",
+                        test -> test.accountRepository.findAccountsByUser(test.userRepository.getReferenceById(10L))),
+                call("accounts.findAccountsByUser_Email", test -> test.accountRepository.findAccountsByUser_Email(EMAIL)),
+                call("accounts.findAccountResponsesByUserEmail",
+                        test -> test.accountRepository.findAccountResponsesByUserEmail(EMAIL)),
+                call("accounts.findExistingAccountNumbers",
+                        test -> test.accountRepository.findExistingAccountNumbers(List.of("acc-10", "acc-11"))),
+                call("accounts.addToBalance", test -> test.accountRepository.addToBalance(10L, 1)),
+                call("accounts.subtractFromBalance", test -> test.accountRepository.subtractFromBalance(10L, 1)),
+                call("idempotency.deleteCreatedBefore",
+                        test -> test.idempotencyRecordRepository.deleteCreatedBefore(Instant.EPOCH))
+        );
+    }
+
+    static Stream<Arguments> jdbcQueries() {
+        return Stream.of(
+                Arguments.of("balanceBatch.existingIds", "SELECT id FROM accounts WHERE id IN (?, ?, ?)"),
+                Arguments.of("balanceBatch.update", """
+                        UPDATE accounts SET balance = balance + ?, version = version + 1
+                        WHERE id = ? AND balance + ? >= 0
+                        """),
+                Arguments.of("journal.snapshot",
+                        "SELECT balance, last_transaction_id FROM account_balance_snapshots WHERE account_id = ?"),
+                Arguments.of("journal.tail",
+                        "SELECT COALESCE(SUM(amount), 0) FROM account_transactions WHERE account_id = ? AND id > ?"),
+                Arguments.of("journal.cutoff", "SELECT MAX(id) FROM account_transactions WHERE created_at < ?"),
+                Arguments.of("journal.deltas", """
+                        SELECT account_id, SUM(amount) FROM account_transactions
+                        WHERE id > ? AND id <= ?
+                        GROUP BY account_id
+                        """)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryCalls")
+    void generatedQueriesShouldUseIndex(String name, Consumer<QueryPlanTest> repositoryCall) {
+        SqlStatementCounter.startRecording();
+        List<String> statements;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                repositoryCall.accept(this);
+            });
+        } finally {
+            statements = SqlStatementCounter.stopRecording();
+        }
+
+        assertFalse(statements.isEmpty(), () -> name + " issued no statements");
+        statements.forEach(sql -> assertUsesIndex(name, sql));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("jdbcQueries")
+    void jdbcQueriesShouldUseIndex(String name, String sql) {
+        assertUsesIndex(name, sql);
+    }
+
+    private void assertUsesIndex(String name, String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+
+        assertFalse(plan.contains("tableScan"), () -> name + " scans a whole table:\n" + plan);
+    }
+
+    private static Arguments call(String name, Consumer<QueryPlanTest> repositoryCall) {
+        return Arguments.of(name, repositoryCall);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.banking.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaMigrationTest {
+    private static final long ALLOCATION_SIZE = 50;
+
+    @Test
+    void migrationShouldAdoptDatabaseCreatedBeforeFlyway() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy_schema;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE users (id BIGINT NOT NULL PRIMARY KEY, name VARCHAR(255), email VARCHAR(255),
+                                    registration_date DATE)""");
+        jdbcTemplate.execute("""
+                CREATE TABLE accounts (id BIGINT NOT NULL PRIMARY KEY, account_number VARCHAR(255),
+                                       balance NUMERIC(38, 2), user_id BIGINT REFERENCES users (id))""");
+        jdbcTemplate.update("INSERT INTO users VALUES (120, 'Legacy', 'legacy@mail.com', CURRENT_DATE)");
+        jdbcTemplate.update("INSERT INTO accounts VALUES (340, 'legacy-340', 12.34, 120)");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM accounts WHERE id = 340", Long.class));
+        assertEquals(1234L, jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = 340", Long.class));
+        assertTrue(firstPooledId(jdbcTemplate, "users_seq") > 120);
+        assertTrue(firstPooledId(jdbcTemplate, "accounts_seq") > 340);
+
+        jdbcTemplate.update("INSERT INTO accounts (id, account_number, user_id) VALUES (341, 'legacy-341', 120)");
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM accounts WHERE id = 341", Long.class));
+    }
+
+    private long firstPooledId(JdbcTemplate jdbcTemplate, String sequence) {
+        return jdbcTemplate.queryForObject("SELECT nextval('" + sequence + "')", Long.class) - ALLOCATION_SIZE + 1;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.banking.service;
+
+import com.example.banking.dto.accountDto.AccountRequest;
+import com.example.banking.dto.userDto.UserRequest;
+import com.example.banking.money.Money;
+
+import java.util.UUID;
+
+public class AccountFixture {
+    private final UserService userService;
+    private final AccountService accountService;
+
+    public AccountFixture(UserService userService, AccountService accountService) {
+        this.userService = userService;
+        this.accountService = accountService;
+    }
+
+    public Long createAccount(String userName, Money balance) {
+        String email = UUID.randomUUID() + "@mail.com";
+        userService.createUser(new UserRequest(userName, email));
+        return openAccount(email, balance);
+    }
+
+    public Long openAccount(String userEmail, Money balance) {
+        Long id = accountService.createAccount(new AccountRequest(UUID.randomUUID().toString(), userEmail)).id();
+        if (balance.signum() > 0) {
+            accountService.deposit(id, balance);
+        }
+        return id;
+    }
+}
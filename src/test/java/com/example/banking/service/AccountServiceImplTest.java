@@ -1,22 +1,34 @@
 package com.example.banking.service;
 
+import com.example.banking.cache.UserEmailCache;
 import com.example.banking.dto.SimpleResponse;
 import com.example.banking.dto.accountDto.AccountRequest;
 import com.example.banking.dto.accountDto.AccountResponse;
+import com.example.banking.dto.accountDto.TransferRequest;
+import com.example.banking.dto.accountDto.TransferResponse;
+import com.example.banking.dto.userDto.UserResponse;
 import com.example.banking.entity.Account;
 import com.example.banking.entity.User;
 import com.example.banking.exception.AccountNotFoundException;
+import com.example.banking.exception.InsufficientBalanceException;
 import com.example.banking.exception.UserNotFoundException;
+import com.example.banking.money.Money;
 import com.example.banking.repository.AccountRepository;
 import com.example.banking.repository.UserRepository;
+import com.example.banking.service.balance.BalanceEngine;
+import com.example.banking.service.balance.BalanceIndex;
+import com.example.banking.service.balance.HotAccountCoalescer;
+import com.example.banking.service.balance.TotalBalanceTracker;
+import com.example.banking.service.balance.Transfer;
 import com.example.banking.service.impl.AccountServiceImpl;
+import com.example.banking.service.journal.TransactionJournal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +44,27 @@ public class AccountServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BalanceEngine balanceEngine;
+
+    @Mock
+    private TotalBalanceTracker totalBalanceTracker;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserEmailCache userEmailCache;
+
+    @Mock
+    private TransactionJournal transactionJournal;
+
+    @Mock
+    private HotAccountCoalescer hotAccountCoalescer;
+
+    @Mock
+    private BalanceIndex balanceIndex;
+
     @InjectMocks
     private AccountServiceImpl accountService;
 
@@ -51,7 +84,7 @@ public class AccountServiceImplTest {
         account.setId(1L);
         account.setAccountNumber("12312");
         account.setUser(user);
-        account.setBalance(BigDecimal.ZERO);
+        account.setBalance(Money.ZERO);
 
         when(userRepository.findByEmail("test@gmail.com")).thenReturn(Optional.of(user));
         when(accountRepository.save(any(Account.class))).thenReturn(account);
@@ -59,9 +92,30 @@ public class AccountServiceImplTest {
         AccountResponse accountResponse = accountService.createAccount(accountRequest);
 
         assertEquals("12312", accountResponse.accountNumber());
-        assertEquals(BigDecimal.ZERO, accountResponse.amount());
+        assertEquals(Money.ZERO, accountResponse.amount());
         verify(accountRepository).save(any(Account.class));
     }
+
+    @Test
+    void createAccountShouldUseCachedUserWithoutLookup() {
+        User user = new User();
+        user.setId(1L);
+        Account account = new Account();
+        account.setId(1L);
+        account.setAccountNumber("12312");
+        account.setBalance(Money.ZERO);
+
+        when(userEmailCache.get("test@gmail.com"))
+                .thenReturn(Optional.of(new UserResponse(1L, "Test", "test@gmail.com", null)));
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(accountRepository.save(any(Account.class))).thenReturn(account);
+
+        accountService.createAccount(new AccountRequest("12312", "test@gmail.com"));
+
+        verify(userRepository, never()).findByEmail(any());
+        verify(userRepository).getReferenceById(1L);
+    }
+
     @Test
     void createAccountShouldThrowExceptionWhenUserNotFound() {
         AccountRequest request = new AccountRequest("12345", "notfound@mail.com");
@@ -74,75 +128,77 @@ public class AccountServiceImplTest {
     void depositShouldIncreaseBalance() {
         Account account = new Account();
         account.setId(1L);
-        account.setBalance(BigDecimal.valueOf(100));
+        account.setBalance(Money.ofMajor(150));
 
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
-        when(accountRepository.save(any(Account.class))).thenReturn(account);
+        when(balanceEngine.deposit(1L, Money.ofMajor(50))).thenReturn(account);
 
-        AccountResponse response = accountService.deposit(1L, BigDecimal.valueOf(50));
+        AccountResponse response = accountService.deposit(1L, Money.ofMajor(50));
 
-        assertEquals(BigDecimal.valueOf(150), response.amount());
-        verify(accountRepository).save(account);
+        assertEquals(Money.ofMajor(150), response.amount());
+        verify(balanceEngine).deposit(1L, Money.ofMajor(50));
     }
 
     @Test
     void depositShouldThrowExceptionWhenAccountNotFound() {
-        when(accountRepository.findById(1L)).thenReturn(Optional.empty());
+        when(balanceEngine.deposit(1L, Money.ofMajor(50))).thenThrow(new AccountNotFoundException(1L));
 
-        assertThrows(AccountNotFoundException.class, () -> accountService.deposit(1L, BigDecimal.valueOf(50)));
+        assertThrows(AccountNotFoundException.class, () -> accountService.deposit(1L, Money.ofMajor(50)));
     }
 
     @Test
     void withDrawShouldDecreaseBalance() {
         Account account = new Account();
         account.setId(1L);
-        account.setBalance(BigDecimal.valueOf(100));
+        account.setBalance(Money.ofMajor(50));
 
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
-        when(accountRepository.save(any(Account.class))).thenReturn(account);
+        when(balanceEngine.withDraw(1L, Money.ofMajor(50))).thenReturn(account);
 
-        AccountResponse response = accountService.withDraw(1L, BigDecimal.valueOf(50));
+        AccountResponse response = accountService.withDraw(1L, Money.ofMajor(50));
 
-        assertEquals(BigDecimal.valueOf(50), response.amount());
+        assertEquals(Money.ofMajor(50), response.amount());
     }
 
     @Test
     void withDrawShouldThrowExceptionWhenInsufficientBalance() {
-        Account account = new Account();
-        account.setId(1L);
-        account.setBalance(BigDecimal.valueOf(30));
-
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(account));
+        when(balanceEngine.withDraw(1L, Money.ofMajor(50))).thenThrow(new InsufficientBalanceException(1L));
 
-        assertThrows(IllegalArgumentException.class, () -> accountService.withDraw(1L, BigDecimal.valueOf(50)));
+        assertThrows(IllegalArgumentException.class, () -> accountService.withDraw(1L, Money.ofMajor(50)));
     }
 
     @Test
     void withDrawShouldThrowExceptionWhenAccountNotFound() {
-        when(accountRepository.findById(1L)).thenReturn(Optional.empty());
+        when(balanceEngine.withDraw(1L, Money.ofMajor(50))).thenThrow(new AccountNotFoundException(1L));
 
-        assertThrows(AccountNotFoundException.class, () -> accountService.withDraw(1L, BigDecimal.valueOf(50)));
+        assertThrows(AccountNotFoundException.class, () -> accountService.withDraw(1L, Money.ofMajor(50)));
     }
 
     @Test
-    void getAccountsByUserShouldReturnList() {
-        User user = new User();
-        user.setId(1L);
-        user.setEmail("test@mail.com");
+    void transferShouldReturnBothAccounts() {
+        Account from = new Account();
+        from.setId(1L);
+        from.setBalance(Money.ofMajor(70));
+        Account to = new Account();
+        to.setId(2L);
+        to.setBalance(Money.ofMajor(30));
 
-        Account account = new Account();
-        account.setId(1L);
-        account.setAccountNumber("12345");
-        account.setBalance(BigDecimal.ZERO);
-        account.setUser(user);
+        when(balanceEngine.transfer(1L, 2L, Money.ofMajor(30))).thenReturn(new Transfer(from, to));
+
+        TransferResponse response = accountService.transfer(new TransferRequest(1L, 2L, Money.ofMajor(30)));
+
+        assertEquals(Money.ofMajor(70), response.from().amount());
+        assertEquals(Money.ofMajor(30), response.to().amount());
+    }
 
-        when(userRepository.existsByEmail("test@mail.com")).thenReturn(true);
-        when(accountRepository.findAccountsByUser_Email("test@mail.com")).thenReturn(List.of(account));
+    @Test
+    void getAccountsByUserShouldReturnList() {
+        when(accountRepository.findAccountResponsesByUserEmail("test@mail.com"))
+                .thenReturn(List.of(new AccountResponse(1L, "12345", Money.ZERO)));
 
         List<AccountResponse> response = accountService.getAccountsByUser("test@mail.com");
 
         assertEquals(1, response.size());
         assertEquals("12345", response.get(0).accountNumber());
+        verify(userRepository, never()).existsByEmail(any());
     }
 
     @Test
@@ -175,12 +231,13 @@ public class AccountServiceImplTest {
 
     @Test
     void findTotalBalanceShouldReturnValue() {
-        when(accountRepository.findTotalBalance()).thenReturn(BigDecimal.valueOf(15000));
+        when(totalBalanceTracker.total()).thenReturn(Money.ofMajor(15000));
 
-        BigDecimal total = accountService.findTotalBalance();
+        Money total = accountService.findTotalBalance();
 
-        assertEquals(BigDecimal.valueOf(15000), total);
-        verify(accountRepository).findTotalBalance();
+        assertEquals(Money.ofMajor(15000), total);
+        verify(totalBalanceTracker).total();
+        verify(accountRepository, never()).findTotalBalance();
     }
 
 
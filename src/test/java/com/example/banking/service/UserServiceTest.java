@@ -1,27 +1,46 @@
 package com.example.banking.service;
 
+import com.example.banking.cache.UserEmailCache;
+import com.example.banking.dto.ExportFormat;
 import com.example.banking.dto.userDto.UserAccountResponse;
+import com.example.banking.dto.userDto.UserPageResponse;
 import com.example.banking.dto.userDto.UserRequest;
 import com.example.banking.dto.userDto.UserResponse;
 import com.example.banking.entity.User;
 import com.example.banking.exception.DuplicateEmailException;
 import com.example.banking.exception.UserNotFoundException;
+import com.example.banking.money.Money;
+import com.example.banking.repository.UserJdbcRepository;
 import com.example.banking.repository.UserRepository;
+import com.example.banking.service.balance.BalanceIndex;
+import com.example.banking.service.balance.HotAccountCoalescer;
 import com.example.banking.service.impl.UserServiceImpl;
+import jakarta.persistence.EntityManager;
+import com.example.banking.service.journal.TransactionJournal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -30,6 +49,30 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserJdbcRepository userJdbcRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserEmailCache userEmailCache;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionJournal transactionJournal;
+
+    @Mock
+    private BalanceIndex balanceIndex;
+
+    @Mock
+    private HotAccountCoalescer hotAccountCoalescer;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -69,13 +112,8 @@ class UserServiceTest {
 
     @Test
     void getUserById_success() {
-        User user = new User();
-        user.setId(1L);
-        user.setName("Alice");
-        user.setEmail("alice@mail.com");
-        user.setRegistrationDate(LocalDate.now());
-
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findResponseById(1L))
+                .thenReturn(Optional.of(new UserResponse(1L, "Alice", "alice@mail.com", LocalDate.now())));
 
         UserResponse response = userService.getUserById(1L);
 
@@ -85,7 +123,7 @@ class UserServiceTest {
 
     @Test
     void getUserById_notFound_throwsException() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findResponseById(1L)).thenReturn(Optional.empty());
         assertThrows(UserNotFoundException.class, () -> userService.getUserById(1L));
     }
 
@@ -125,9 +163,9 @@ class UserServiceTest {
     @Test
     void getAllUsersAboveAmount_success() {
         UserAccountResponse userAccount = new UserAccountResponse(
-                1L, "John", "john@mail.com", LocalDate.now(), "12345", BigDecimal.valueOf(20000)
+                1L, "John", "john@mail.com", LocalDate.now(), "12345", Money.ofMajor(20000)
         );
-        when(userRepository.findUsersWithAllAccountsAbove(BigDecimal.valueOf(10000)))
+        when(userRepository.findUsersWithAllAccountsAbove(Money.ofMajor(10000)))
                 .thenReturn(List.of(userAccount));
 
         List<UserAccountResponse> result = userService.getAllUsersAboveAmount(BigDecimal.valueOf(10000));
@@ -138,12 +176,84 @@ class UserServiceTest {
 
     @Test
     void getAllUsersAboveAmount_empty_throwsException() {
-        when(userRepository.findUsersWithAllAccountsAbove(BigDecimal.valueOf(10000)))
+        when(userRepository.findUsersWithAllAccountsAbove(Money.ofMajor(10000)))
                 .thenReturn(List.of());
 
         assertThrows(UserNotFoundException.class,
                 () -> userService.getAllUsersAboveAmount(BigDecimal.valueOf(10000)));
     }
 
+    @Test
+    void getUsersPage_returnsCursorForNextPage() {
+        UserResponse first = new UserResponse(1L, "Alice", "alice@mail.com", LocalDate.now());
+        UserResponse second = new UserResponse(2L, "Bob", "bob@mail.com", LocalDate.now());
+        when(userRepository.findPageAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(first, second));
+        when(userRepository.findPageAfter(2L, PageRequest.of(0, 2))).thenReturn(List.of());
+
+        UserPageResponse page = userService.getUsersPage(null, 2);
+        UserPageResponse next = userService.getUsersPage(page.nextCursor(), 2);
+
+        assertEquals(2, page.users().size());
+        assertNotNull(page.nextCursor());
+        assertEquals(0, next.users().size());
+        assertNull(next.nextCursor());
+    }
+
+    @Test
+    void createUsers_duplicateInRequest_throwsException() {
+        List<UserRequest> requests = List.of(
+                new UserRequest("John", "john@mail.com"),
+                new UserRequest("Johnny", "john@mail.com"));
+
+        assertThrows(DuplicateEmailException.class, () -> userService.createUsers(requests));
+        verify(userRepository, never()).saveAll(any());
+    }
 
+    @Test
+    void createUsers_existingEmail_throwsException() {
+        List<UserRequest> requests = List.of(
+                new UserRequest("John", "john@mail.com"),
+                new UserRequest("Jane", "jane@mail.com"));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of("jane@mail.com"));
+
+        assertThrows(DuplicateEmailException.class, () -> userService.createUsers(requests));
+        verify(userRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void createUsers_savesAllAndFlushes() {
+        List<UserRequest> requests = List.of(
+                new UserRequest("John", "john@mail.com"),
+                new UserRequest("Jane", "jane@mail.com"));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+
+        List<UserResponse> created = userService.createUsers(requests);
+
+        assertEquals(2, created.size());
+        assertEquals("jane@mail.com", created.get(1).email());
+        verify(userRepository).saveAll(any());
+        verify(entityManager).flush();
+    }
+
+    @Test
+    void getUsersPage_invalidCursor_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> userService.getUsersPage("not-a-cursor", 10));
+    }
+
+    @Test
+    void exportUsersAboveAmount_writesCsv() {
+        UserAccountResponse userAccount = new UserAccountResponse(
+                1L, "Doe, John", "john@mail.com", LocalDate.of(2024, 1, 2), "12345", Money.ofMajor(20000)
+        );
+        when(userRepository.streamUsersWithAccountsAbove(Money.ofMajor(10000)))
+                .thenReturn(Stream.of(userAccount));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        userService.exportUsersAboveAmount(BigDecimal.valueOf(10000), ExportFormat.CSV, outputStream);
+
+        assertEquals("""
+                id,name,email,registrationDate,accountNumber,amount
+                1,"Doe, John",john@mail.com,2024-01-02,12345,20000.00
+                """, outputStream.toString(StandardCharsets.UTF_8));
+    }
 }
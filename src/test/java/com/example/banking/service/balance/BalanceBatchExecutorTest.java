@@ -0,0 +1,81 @@
+package com.example.banking.service.balance;
+
+import com.example.banking.dto.accountDto.BatchOperationRequest;
+import com.example.banking.dto.accountDto.BatchOperationStatus;
+import com.example.banking.dto.accountDto.BatchResponse;
+import com.example.banking.dto.accountDto.OperationType;
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.service.AccountFixture;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class BalanceBatchExecutorTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserService userService;
+
+    private AccountFixture accountFixture;
+
+    @BeforeEach
+    void setUp() {
+        accountFixture = new AccountFixture(userService, accountService);
+    }
+
+    @Test
+    void batchShouldReportPerItemResults() {
+        Long accountId = accountFixture.createAccount("Batch", Money.ofMajor(100));
+        List<BatchOperationRequest> operations = List.of(
+                new BatchOperationRequest(accountId, OperationType.DEPOSIT, Money.ofMajor(50)),
+                new BatchOperationRequest(accountId, OperationType.WITHDRAW, Money.ofMajor(120)),
+                new BatchOperationRequest(accountId, OperationType.WITHDRAW, Money.ofMajor(100)),
+                new BatchOperationRequest(-1L, OperationType.DEPOSIT, Money.ofMajor(10)),
+                new BatchOperationRequest(accountId, OperationType.DEPOSIT, Money.ofMajor(-5))
+        );
+
+        BatchResponse response = accountService.applyBatch(operations);
+
+        assertEquals(2, response.applied());
+        assertEquals(3, response.rejected());
+        assertEquals(BatchOperationStatus.APPLIED, response.results().get(0).status());
+        assertEquals(BatchOperationStatus.APPLIED, response.results().get(1).status());
+        assertEquals(BatchOperationStatus.INSUFFICIENT_BALANCE, response.results().get(2).status());
+        assertEquals(BatchOperationStatus.ACCOUNT_NOT_FOUND, response.results().get(3).status());
+        assertEquals(BatchOperationStatus.INVALID, response.results().get(4).status());
+        assertEquals(0, Money.ofMajor(30).compareTo(balanceOf(accountId)));
+    }
+
+    @Test
+    void batchShouldApplyEveryOperation() {
+        int operationsCount = 2_000;
+        Long accountId = accountFixture.createAccount("Batch", Money.ZERO);
+        List<BatchOperationRequest> operations = new ArrayList<>(operationsCount);
+        for (int i = 0; i < operationsCount; i++) {
+            operations.add(new BatchOperationRequest(accountId, OperationType.DEPOSIT, Money.ofMajor(1)));
+        }
+
+        accountService.applyBatch(operations);
+
+        assertEquals(0, Money.ofMajor(operationsCount).compareTo(balanceOf(accountId)));
+    }
+
+    private Money balanceOf(Long accountId) {
+        return accountRepository.findById(accountId).orElseThrow().getBalance();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.banking.service.balance;
+
+import com.example.banking.exception.InsufficientBalanceException;
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.service.AccountFixture;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class BalanceEngineConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 50;
+
+    @Autowired
+    private BalanceEngine balanceEngine;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    private AccountFixture accountFixture;
+
+    @BeforeEach
+    void setUp() {
+        accountFixture = new AccountFixture(userService, accountService);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BalanceUpdateStrategy.class)
+    void concurrentDepositsShouldNotLoseUpdates(BalanceUpdateStrategy strategy) throws Exception {
+        Long accountId = accountFixture.createAccount("Concurrent", Money.ZERO);
+
+        AtomicInteger succeeded = new AtomicInteger();
+
+        runConcurrently(() -> {
+            try {
+                balanceEngine.apply(accountId, Money.ofMajor(1), strategy);
+                succeeded.incrementAndGet();
+            } catch (OptimisticLockingFailureException e) {
+                assertEquals(BalanceUpdateStrategy.OPTIMISTIC, strategy);
+            }
+        });
+
+        if (strategy != BalanceUpdateStrategy.OPTIMISTIC) {
+            assertEquals(THREADS * OPERATIONS_PER_THREAD, succeeded.get());
+        }
+        assertEquals(0, Money.ofMajor(succeeded.get()).compareTo(balanceOf(accountId)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BalanceUpdateStrategy.class)
+    void concurrentWithdrawalsShouldNeverOverdraw(BalanceUpdateStrategy strategy) throws Exception {
+        int initialBalance = 100;
+        Long accountId = accountFixture.createAccount("Concurrent", Money.ofMajor(initialBalance));
+        AtomicInteger succeeded = new AtomicInteger();
+
+        runConcurrently(() -> {
+            try {
+                balanceEngine.apply(accountId, Money.ofMajor(1).negate(), strategy);
+                succeeded.incrementAndGet();
+            } catch (InsufficientBalanceException ignored) {
+            } catch (OptimisticLockingFailureException e) {
+                assertEquals(BalanceUpdateStrategy.OPTIMISTIC, strategy);
+            }
+        });
+
+        if (strategy != BalanceUpdateStrategy.OPTIMISTIC) {
+            assertEquals(initialBalance, succeeded.get());
+        }
+        assertEquals(0, Money.ofMajor(initialBalance - succeeded.get()).compareTo(balanceOf(accountId)));
+    }
+
+    private void runConcurrently(Runnable operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                        operation.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Money balanceOf(Long accountId) {
+        return accountRepository.findById(accountId).orElseThrow().getBalance();
+    }
+}
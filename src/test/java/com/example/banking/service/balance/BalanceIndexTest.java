@@ -0,0 +1,108 @@
+package com.example.banking.service.balance;
+
+import com.example.banking.dto.userDto.UserRequest;
+import com.example.banking.entity.Account;
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.repository.UserRepository;
+import com.example.banking.service.AccountFixture;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BalanceIndexTest {
+    private static final Money BASE = Money.valueOf("1000000000000");
+
+    @Autowired
+    private BalanceIndex balanceIndex;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AccountFixture accountFixture;
+
+    @BeforeEach
+    void setUp() {
+        accountFixture = new AccountFixture(userService, accountService);
+        balanceIndex.load();
+    }
+
+    @Test
+    void indexShouldFollowEveryMutation() {
+        String email = UUID.randomUUID() + "@index.com";
+        Long userId = userService.createUser(new UserRequest("Index", email)).id();
+        Long first = accountFixture.openAccount(email, BASE.plus(Money.ofMajor(300)));
+        Long second = accountFixture.openAccount(email, BASE.plus(Money.ofMajor(200)));
+        Long third = accountFixture.openAccount(email, BASE.plus(Money.ofMajor(100)));
+
+        assertEquals(List.of(first, second, third), ids(balanceIndex.top(3)));
+        assertEquals(List.of(first, second), ids(balanceIndex.above(BASE.plus(Money.ofMajor(150)), 10)));
+        assertEquals(List.of(third, second), ids(balanceIndex.between(
+                BASE.plus(Money.ofMajor(100)), BASE.plus(Money.ofMajor(200)), 10)));
+
+        accountService.withDraw(first, Money.ofMajor(250));
+        assertEquals(List.of(second, third, first), ids(balanceIndex.top(3)));
+
+        accountService.deleteById(second);
+        assertEquals(List.of(third, first), ids(balanceIndex.above(BASE, 10)));
+
+        userService.deleteById(userId);
+        assertTrue(balanceIndex.above(BASE, 10).isEmpty());
+        assertEquals(0, balanceIndex.checkConsistency().mismatched());
+    }
+
+    @Test
+    void consistencyCheckShouldRepairPersistentMismatches() {
+        String email = UUID.randomUUID() + "@index.com";
+        userService.createUser(new UserRequest("Index", email));
+        Long drifted = accountFixture.openAccount(email, Money.ofMajor(100));
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + 500 WHERE id = ?", drifted);
+        Long unindexed = createAccountBypassingService(email);
+
+        BalanceIndexReport first = balanceIndex.checkConsistency();
+        assertEquals(2, first.mismatched());
+        assertEquals(0, first.corrected());
+        assertEquals(0, Money.ofMajor(100).compareTo(balanceIndex.get(drifted).orElseThrow().balance()));
+
+        BalanceIndexReport second = balanceIndex.checkConsistency();
+        assertEquals(2, second.corrected());
+        assertEquals(0, Money.ofMajor(105).compareTo(balanceIndex.get(drifted).orElseThrow().balance()));
+        assertTrue(balanceIndex.get(unindexed).isPresent());
+        assertEquals(0, balanceIndex.checkConsistency().mismatched());
+    }
+
+    private Long createAccountBypassingService(String email) {
+        Account account = new Account();
+        account.setAccountNumber(UUID.randomUUID().toString());
+        account.setBalance(Money.ofMajor(10));
+        account.setUser(userRepository.findByEmail(email).orElseThrow());
+        return accountRepository.save(account).getId();
+    }
+
+    private static List<Long> ids(List<IndexedAccount> accounts) {
+        return accounts.stream().map(IndexedAccount::id).toList();
+    }
+}
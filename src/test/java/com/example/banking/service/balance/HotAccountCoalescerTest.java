@@ -0,0 +1,201 @@
+package com.example.banking.service.balance;
+
+import com.example.banking.dto.userDto.UserRequest;
+import com.example.banking.entity.Account;
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.service.AccountFixture;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.UserService;
+import com.example.banking.service.journal.TransactionJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "banking.hot-accounts.enabled=true",
+        "banking.hot-accounts.auto-detect-threshold=8",
+        "banking.hot-accounts.detection-window=PT1H",
+        "banking.hot-accounts.flush-interval=PT1H"
+})
+class HotAccountCoalescerTest {
+    private static final int THREADS = 16;
+    private static final int DEPOSITS_PER_THREAD = 50;
+
+    @Autowired
+    private HotAccountCoalescer hotAccountCoalescer;
+
+    @Autowired
+    private BalanceEngine balanceEngine;
+
+    @Autowired
+    private TransactionJournal transactionJournal;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AccountFixture accountFixture;
+
+    @BeforeEach
+    void setUp() {
+        accountFixture = new AccountFixture(userService, accountService);
+    }
+
+    @Test
+    void concurrentDepositsToHotAccountShouldBeFlushedWithoutLoss() throws Exception {
+        Long accountId = accountFixture.createAccount("Hot", Money.ZERO);
+        hotAccountCoalescer.markHot(accountId);
+
+        runConcurrently(() -> balanceEngine.deposit(accountId, Money.ofMajor(1)));
+        hotAccountCoalescer.flushAll();
+
+        Money expected = Money.ofMajor(THREADS * DEPOSITS_PER_THREAD);
+        assertEquals(0, expected.compareTo(balanceOf(accountId)));
+        assertEquals(0, expected.compareTo(transactionJournal.reconstructBalance(accountId)));
+        assertEquals(THREADS * DEPOSITS_PER_THREAD, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM account_transactions WHERE account_id = ? AND transaction_type = 'DEPOSIT'",
+                Integer.class, accountId));
+        assertEquals(0, Money.ZERO.compareTo(hotAccountCoalescer.pending(accountId)));
+    }
+
+    @Test
+    void withdrawShouldSeeCoalescedDeposits() {
+        Long accountId = accountFixture.createAccount("Hot", Money.ZERO);
+        hotAccountCoalescer.markHot(accountId);
+
+        Account afterDeposit = balanceEngine.deposit(accountId, Money.ofMajor(10));
+        Account afterWithdraw = balanceEngine.withDraw(accountId, Money.ofMajor(10));
+
+        assertEquals(0, Money.ofMajor(10).compareTo(afterDeposit.getBalance()));
+        assertEquals(0, Money.ZERO.compareTo(afterWithdraw.getBalance()));
+        assertEquals(0, Money.ZERO.compareTo(balanceOf(accountId)));
+    }
+
+    @Test
+    void frequentlyDepositedAccountShouldBePromotedAndDemoted() {
+        Long accountId = accountFixture.createAccount("Hot", Money.ZERO);
+        for (int i = 0; i < 8; i++) {
+            balanceEngine.deposit(accountId, Money.ofMajor(1));
+        }
+        assertFalse(hotAccountCoalescer.isHot(accountId));
+
+        hotAccountCoalescer.rollWindow();
+        assertTrue(hotAccountCoalescer.isHot(accountId));
+        balanceEngine.deposit(accountId, Money.ofMajor(1));
+
+        hotAccountCoalescer.rollWindow();
+        assertFalse(hotAccountCoalescer.isHot(accountId));
+        hotAccountCoalescer.rollWindow();
+        assertEquals(0, Money.ofMajor(9).compareTo(balanceOf(accountId)));
+    }
+
+    @Test
+    void closingAccountShouldWritePendingDepositsFirst() {
+        Long accountId = accountFixture.createAccount("Hot", Money.ZERO);
+        hotAccountCoalescer.markHot(accountId);
+        balanceEngine.deposit(accountId, Money.ofMajor(10));
+
+        accountService.deleteById(accountId);
+
+        assertEquals(0, Money.ofMajor(10).negate().compareTo(closedAmount(accountId)));
+        assertFalse(hotAccountCoalescer.isHot(accountId));
+        assertEquals(0, Money.ZERO.compareTo(hotAccountCoalescer.pending(accountId)));
+    }
+
+    @Test
+    void deletingUserShouldWritePendingDepositsOfEveryAccount() {
+        String email = UUID.randomUUID() + "@mail.com";
+        Long userId = userService.createUser(new UserRequest("Hot", email)).id();
+        Long first = accountFixture.openAccount(email, Money.ZERO);
+        Long second = accountFixture.openAccount(email, Money.ZERO);
+        hotAccountCoalescer.markHot(first);
+        hotAccountCoalescer.markHot(second);
+        balanceEngine.deposit(first, Money.ofMajor(10));
+        balanceEngine.deposit(second, Money.ofMajor(20));
+
+        userService.deleteById(userId);
+
+        assertEquals(0, Money.ofMajor(10).negate().compareTo(closedAmount(first)));
+        assertEquals(0, Money.ofMajor(20).negate().compareTo(closedAmount(second)));
+        assertFalse(hotAccountCoalescer.isHot(first));
+        assertFalse(hotAccountCoalescer.isHot(second));
+    }
+
+    @Test
+    void depositsShouldNotBeCoalescedOnceCloseHasStarted() {
+        Long accountId = accountFixture.createAccount("Hot", Money.ZERO);
+        hotAccountCoalescer.markHot(accountId);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            hotAccountCoalescer.beginClose(accountId);
+            assertFalse(hotAccountCoalescer.offer(accountId, Money.ofMajor(1)));
+            status.setRollbackOnly();
+        });
+        assertTrue(hotAccountCoalescer.offer(accountId, Money.ofMajor(1)));
+        hotAccountCoalescer.flush(accountId);
+
+        assertEquals(0, Money.ofMajor(1).compareTo(balanceOf(accountId)));
+    }
+
+    private void runConcurrently(Runnable operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < DEPOSITS_PER_THREAD; j++) {
+                        operation.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Money closedAmount(Long accountId) {
+        return Money.of(jdbcTemplate.queryForObject(
+                "SELECT amount FROM account_transactions WHERE account_id = ? AND transaction_type = 'ACCOUNT_CLOSED'",
+                BigDecimal.class, accountId));
+    }
+
+    private Money balanceOf(Long accountId) {
+        return accountRepository.findById(accountId).orElseThrow().getBalance();
+    }
+}
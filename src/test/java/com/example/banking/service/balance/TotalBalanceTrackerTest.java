@@ -0,0 +1,76 @@
+package com.example.banking.service.balance;
+
+import com.example.banking.dto.accountDto.AccountRequest;
+import com.example.banking.dto.accountDto.AccountResponse;
+import com.example.banking.dto.userDto.UserRequest;
+import com.example.banking.exception.InsufficientBalanceException;
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class TotalBalanceTrackerTest {
+
+    @Autowired
+    private TotalBalanceTracker totalBalanceTracker;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @BeforeEach
+    void setUp() {
+        totalBalanceTracker.reseed();
+    }
+
+    @Test
+    void totalShouldFollowEveryMutation() {
+        String email = UUID.randomUUID() + "@mail.com";
+        Long userId = userService.createUser(new UserRequest("Tracker", email)).id();
+        AccountResponse first = accountService.createAccount(new AccountRequest(UUID.randomUUID().toString(), email));
+        AccountResponse second = accountService.createAccount(new AccountRequest(UUID.randomUUID().toString(), email));
+
+        accountService.deposit(first.id(), Money.ofMajor(300));
+        accountService.deposit(second.id(), Money.ofMajor(200));
+        accountService.withDraw(first.id(), Money.ofMajor(50));
+        assertThrows(InsufficientBalanceException.class,
+                () -> accountService.withDraw(second.id(), Money.ofMajor(1_000)));
+        assertTrackerMatchesDatabase();
+
+        accountService.deleteById(first.id());
+        assertTrackerMatchesDatabase();
+
+        userService.deleteById(userId);
+        assertTrackerMatchesDatabase();
+    }
+
+    @Test
+    void reconcileShouldCorrectPersistentDrift() {
+        totalBalanceTracker.onBalanceChanged(new BalanceChangedEvent(0L, Money.ofMajor(10)));
+
+        assertEquals(0, Money.ofMajor(10).compareTo(totalBalanceTracker.reconcile()));
+        assertEquals(0, Money.ofMajor(10).compareTo(totalBalanceTracker.reconcile()));
+        assertEquals(0, Money.ZERO.compareTo(totalBalanceTracker.reconcile()));
+        assertTrackerMatchesDatabase();
+    }
+
+    private void assertTrackerMatchesDatabase() {
+        Money expected = Money.ofMinor(accountRepository.findTotalBalance());
+        assertEquals(0, expected.compareTo(totalBalanceTracker.total()));
+    }
+}
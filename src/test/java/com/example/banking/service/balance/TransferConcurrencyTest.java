@@ -0,0 +1,93 @@
+package com.example.banking.service.balance;
+
+import com.example.banking.entity.Account;
+import com.example.banking.exception.InsufficientBalanceException;
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.service.AccountFixture;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class TransferConcurrencyTest {
+    private static final int ACCOUNTS = 5;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 100;
+    private static final Money INITIAL_BALANCE = Money.ofMajor(1_000);
+
+    @Autowired
+    private BalanceEngine balanceEngine;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    private AccountFixture accountFixture;
+
+    @BeforeEach
+    void setUp() {
+        accountFixture = new AccountFixture(userService, accountService);
+    }
+
+    @Test
+    void randomTransfersShouldKeepTotalConstant() throws Exception {
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds.add(accountFixture.createAccount("Transfer", INITIAL_BALANCE));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j = 0; j < TRANSFERS_PER_THREAD; j++) {
+                        Long from = accountIds.get(random.nextInt(ACCOUNTS));
+                        Long to = accountIds.get(random.nextInt(ACCOUNTS));
+                        if (from.equals(to)) {
+                            continue;
+                        }
+                        try {
+                            balanceEngine.transfer(from, to, Money.ofMajor(random.nextInt(1, 100)));
+                        } catch (InsufficientBalanceException ignored) {
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Money total = accountRepository.findAllById(accountIds).stream()
+                .map(Account::getBalance)
+                .reduce(Money.ZERO, Money::plus);
+        assertEquals(0, Money.ofMinor(INITIAL_BALANCE.minorUnits() * ACCOUNTS).compareTo(total));
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.banking.service.idempotency;
+
+import com.example.banking.dto.accountDto.AccountResponse;
+import com.example.banking.entity.IdempotencyRecord;
+import com.example.banking.entity.IdempotencyStatus;
+import com.example.banking.exception.IdempotencyKeyConflictException;
+import com.example.banking.money.Money;
+import com.example.banking.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+    private final IdempotencyRecordRepository recordRepository = mock(IdempotencyRecordRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private IdempotencyService service(boolean persistent) {
+        return new IdempotencyService(recordRepository, objectMapper, 100,
+                Duration.ofHours(1), Duration.ofSeconds(5), persistent);
+    }
+
+    @Test
+    void shouldReplayStoredResponseWithoutExecutingAgain() {
+        IdempotencyService service = service(false);
+        AtomicInteger calls = new AtomicInteger();
+        AccountResponse response = new AccountResponse(1L, "acc", Money.ofMajor(10));
+
+        AccountResponse first = service.execute("key-1", "deposit:1:10", AccountResponse.class, () -> {
+            calls.incrementAndGet();
+            return response;
+        });
+        AccountResponse second = service.execute("key-1", "deposit:1:10", AccountResponse.class, () -> {
+            calls.incrementAndGet();
+            return new AccountResponse(1L, "acc", Money.ofMajor(20));
+        });
+
+        assertEquals(response, first);
+        assertEquals(response, second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shouldRejectReuseOfKeyForDifferentRequest() {
+        IdempotencyService service = service(false);
+        service.execute("key-1", "deposit:1:10", AccountResponse.class,
+                () -> new AccountResponse(1L, "acc", Money.ofMajor(10)));
+
+        assertThrows(IdempotencyKeyConflictException.class, () -> service.execute("key-1", "deposit:1:20",
+                AccountResponse.class, () -> new AccountResponse(1L, "acc", Money.ofMajor(20))));
+    }
+
+    @Test
+    void shouldExecuteWithoutKey() {
+        IdempotencyService service = service(false);
+        AtomicInteger calls = new AtomicInteger();
+
+        service.execute(null, "deposit:1:10", AccountResponse.class, () -> {
+            calls.incrementAndGet();
+            return null;
+        });
+        service.execute(null, "deposit:1:10", AccountResponse.class, () -> {
+            calls.incrementAndGet();
+            return null;
+        });
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void shouldNotRememberFailedExecution() {
+        IdempotencyService service = service(false);
+
+        assertThrows(IllegalStateException.class, () -> service.execute("key-1", "deposit:1:10",
+                AccountResponse.class, () -> {
+                    throw new IllegalStateException("boom");
+                }));
+        AccountResponse response = service.execute("key-1", "deposit:1:10", AccountResponse.class,
+                () -> new AccountResponse(1L, "acc", Money.ofMajor(10)));
+
+        assertEquals(Money.ofMajor(10), response.amount());
+    }
+
+    @Test
+    void shouldExecuteConcurrentRetriesOnce() throws Exception {
+        IdempotencyService service = service(false);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<AccountResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return service.execute("key-1", "deposit:1:10", AccountResponse.class, () -> {
+                        calls.incrementAndGet();
+                        sleep();
+                        return new AccountResponse(1L, "acc", Money.ofMajor(10));
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<AccountResponse> future : futures) {
+                assertEquals(Money.ofMajor(10), future.get().amount());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shouldReadPersistedResponse() throws Exception {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey("key-1");
+        record.setFingerprint("deposit:1:10");
+        record.setResponseBody(objectMapper.writeValueAsString(new AccountResponse(1L, "acc", Money.ofMajor(10))));
+        record.setStatus(IdempotencyStatus.COMPLETED);
+        record.setCreatedAt(Instant.now());
+        when(recordRepository.findById("key-1")).thenReturn(Optional.of(record));
+
+        AccountResponse response = service(true).execute("key-1", "deposit:1:10", AccountResponse.class,
+                () -> {
+                    throw new AssertionError("Не должно выполняться");
+                });
+
+        assertEquals(new AccountResponse(1L, "acc", Money.ofMajor(10)), response);
+        verify(recordRepository, never()).reserve(anyString(), anyString(), any());
+    }
+
+    @Test
+    void shouldReserveKeyBeforeRunningAction() {
+        when(recordRepository.findById("key-1")).thenReturn(Optional.empty());
+        when(recordRepository.complete(eq("key-1"), anyString())).thenReturn(1);
+        InOrder order = inOrder(recordRepository);
+
+        service(true).execute("key-1", "deposit:1:10", AccountResponse.class, () -> {
+            order.verify(recordRepository).reserve(eq("key-1"), eq("deposit:1:10"), any());
+            return new AccountResponse(1L, "acc", Money.ofMajor(10));
+        });
+
+        order.verify(recordRepository).complete(eq("key-1"), anyString());
+    }
+
+    @Test
+    void shouldRejectKeyReservedByAnotherNode() {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey("key-1");
+        record.setFingerprint("deposit:1:10");
+        record.setStatus(IdempotencyStatus.IN_PROGRESS);
+        record.setCreatedAt(Instant.now());
+        when(recordRepository.findById("key-1")).thenReturn(Optional.empty(), Optional.of(record));
+        when(recordRepository.reserve(anyString(), anyString(), any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertThrows(IdempotencyKeyConflictException.class, () -> service(true).execute("key-1", "deposit:1:10",
+                AccountResponse.class, () -> {
+                    throw new AssertionError("Не должно выполняться");
+                }));
+        verify(recordRepository, never()).complete(anyString(), anyString());
+    }
+
+    @Test
+    void shouldReleaseReservationWhenActionFails() {
+        when(recordRepository.findById("key-1")).thenReturn(Optional.empty());
+
+        assertThrows(IllegalStateException.class, () -> service(true).execute("key-1", "deposit:1:10",
+                AccountResponse.class, () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        verify(recordRepository).release("key-1");
+        verify(recordRepository, never()).complete(anyString(), anyString());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.banking.service.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvLineParserTest {
+
+    @Test
+    void shouldSplitPlainFields() {
+        assertEquals(List.of("John", "john@mail.com"), CsvLineParser.parse("John, john@mail.com"));
+    }
+
+    @Test
+    void shouldHandleQuotedCommasAndEscapedQuotes() {
+        assertEquals(List.of("Doe, \"JD\" John", "jd@mail.com"),
+                CsvLineParser.parse("\"Doe, \"\"JD\"\" John\",jd@mail.com\r"));
+    }
+
+    @Test
+    void shouldKeepEmptyTrailingField() {
+        assertEquals(List.of("a", ""), CsvLineParser.parse("a,"));
+    }
+
+    @Test
+    void shouldRejectUnterminatedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> CsvLineParser.parse("\"John,john@mail.com"));
+    }
+}
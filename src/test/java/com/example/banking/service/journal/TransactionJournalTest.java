@@ -0,0 +1,97 @@
+package com.example.banking.service.journal;
+
+import com.example.banking.dto.accountDto.BatchOperationRequest;
+import com.example.banking.dto.accountDto.OperationType;
+import com.example.banking.exception.InsufficientBalanceException;
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.service.AccountFixture;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.UserService;
+import com.example.banking.service.balance.BalanceBatchExecutor;
+import com.example.banking.service.balance.BalanceEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "banking.journal.snapshot-grace=PT0S")
+class TransactionJournalTest {
+
+    @Autowired
+    private BalanceEngine balanceEngine;
+
+    @Autowired
+    private BalanceBatchExecutor balanceBatchExecutor;
+
+    @Autowired
+    private TransactionJournal transactionJournal;
+
+    @Autowired
+    private BalanceSnapshotter balanceSnapshotter;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AccountFixture accountFixture;
+
+    @BeforeEach
+    void setUp() {
+        accountFixture = new AccountFixture(userService, accountService);
+    }
+
+    @Test
+    void shouldJournalEveryMovementAndReconstructBalance() throws Exception {
+        Long first = accountFixture.createAccount("Journal", Money.ZERO);
+        Long second = accountFixture.createAccount("Journal", Money.ZERO);
+
+        balanceEngine.deposit(first, Money.ofMajor(100));
+        balanceEngine.withDraw(first, Money.ofMajor(30));
+        balanceEngine.transfer(first, second, Money.ofMajor(20));
+        balanceBatchExecutor.execute(List.of(
+                new BatchOperationRequest(second, OperationType.DEPOSIT, Money.ofMajor(5)),
+                new BatchOperationRequest(second, OperationType.WITHDRAW, Money.ofMajor(1))));
+        assertThrows(InsufficientBalanceException.class,
+                () -> balanceEngine.withDraw(first, Money.ofMajor(1_000)));
+
+        assertEquals(3, journalSize(first));
+        assertEquals(3, journalSize(second));
+        assertBalanceReconstructed(first);
+        assertBalanceReconstructed(second);
+
+        Thread.sleep(5);
+        assertTrue(balanceSnapshotter.takeSnapshots() > 0);
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM account_balance_snapshots WHERE account_id = ?", Integer.class, first));
+        balanceEngine.deposit(first, Money.ofMajor(7));
+
+        assertBalanceReconstructed(first);
+        assertBalanceReconstructed(second);
+    }
+
+    private void assertBalanceReconstructed(Long accountId) {
+        Money actual = accountRepository.findById(accountId).orElseThrow().getBalance();
+        assertEquals(0, actual.compareTo(transactionJournal.reconstructBalance(accountId)));
+    }
+
+    private int journalSize(Long accountId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM account_transactions WHERE account_id = ?", Integer.class, accountId);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.banking.service.wal;
+
+import com.example.banking.money.Money;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.service.AccountFixture;
+import com.example.banking.service.AccountService;
+import com.example.banking.service.UserService;
+import com.example.banking.service.journal.TransactionJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class WalRecoveryTest {
+    private static final int SEGMENT_SIZE = 1 << 16;
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionJournal transactionJournal;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private AccountFixture accountFixture;
+
+    @BeforeEach
+    void setUp() {
+        accountFixture = new AccountFixture(userService, accountService);
+    }
+
+    @Test
+    void acknowledgedDepositsShouldBeAppliedExactlyOnceAcrossRestarts() throws Exception {
+        String nodeId = UUID.randomUUID().toString();
+        Long accountId = accountFixture.createAccount("Wal", Money.ZERO);
+
+        WriteAheadLog crashed = new WriteAheadLog(directory, SEGMENT_SIZE, 1000);
+        for (int i = 0; i < 100; i++) {
+            crashed.awaitDurable(crashed.append(accountId, BigDecimal.ONE).sequence());
+        }
+
+        WriteAheadLog restarted = new WriteAheadLog(directory, SEGMENT_SIZE, 1000);
+        WalApplier applier = start(restarted, nodeId);
+        awaitApplied(applier, 100);
+        applier.stop();
+        restarted.close();
+        assertEquals(Money.ofMajor(100), balance(accountId));
+
+        WriteAheadLog restartedAgain = new WriteAheadLog(directory, SEGMENT_SIZE, 1000);
+        WalApplier secondApplier = start(restartedAgain, nodeId);
+        restartedAgain.awaitDurable(restartedAgain.append(accountId, BigDecimal.TEN).sequence());
+        awaitApplied(secondApplier, 101);
+        secondApplier.stop();
+        restartedAgain.close();
+        crashed.close();
+
+        assertEquals(Money.ofMajor(110), balance(accountId));
+        assertEquals(Money.ofMajor(110), transactionJournal.reconstructBalance(accountId));
+    }
+
+    @Test
+    void depositsForMissingAccountShouldBeDeadLettered() throws Exception {
+        String nodeId = UUID.randomUUID().toString();
+        Long accountId = accountFixture.createAccount("Wal", Money.ZERO);
+        Long missingId = Long.MAX_VALUE;
+
+        WriteAheadLog log = new WriteAheadLog(directory, SEGMENT_SIZE, 1000);
+        WalApplier applier = start(log, nodeId);
+        log.append(missingId, new BigDecimal("7.50"));
+        log.awaitDurable(log.append(accountId, BigDecimal.ONE).sequence());
+        awaitApplied(applier, 2);
+        applier.stop();
+        log.close();
+
+        assertEquals(Money.ofMajor(1), balance(accountId));
+        assertEquals(new BigDecimal("7.50"), jdbcTemplate.queryForObject(
+                "SELECT amount FROM wal_dead_letters WHERE node_id = ? AND sequence = 1 AND account_id = ?",
+                BigDecimal.class, nodeId, missingId));
+    }
+
+    private WalApplier start(WriteAheadLog log, String nodeId) {
+        WalApplier applier = new WalApplier(log, jdbcTemplate, transactionManager, transactionJournal,
+                eventPublisher, nodeId, 1000, Duration.ofMillis(10));
+        applier.recover();
+        applier.start();
+        return applier;
+    }
+
+    private void awaitApplied(WalApplier applier, long sequence) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (applier.appliedSequence() < sequence && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(sequence, applier.appliedSequence());
+    }
+
+    private Money balance(Long accountId) {
+        return accountRepository.findById(accountId).orElseThrow().getBalance();
+    }
+}
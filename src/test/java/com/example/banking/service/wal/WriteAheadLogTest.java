@@ -0,0 +1,144 @@
+package com.example.banking.service.wal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteAheadLogTest {
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecoverDurableRecordsAfterCrash() throws Exception {
+        WriteAheadLog log = new WriteAheadLog(directory, SEGMENT_SIZE, 1000);
+        for (int i = 1; i <= 10; i++) {
+            WalRecord record = log.append((long) i, new BigDecimal("10.5" + i));
+            log.awaitDurable(record.sequence());
+        }
+
+        WriteAheadLog recovered = new WriteAheadLog(directory, SEGMENT_SIZE, 1000);
+        List<WalRecord> records = recovered.drainDurable(100, Duration.ZERO);
+
+        assertEquals(10, records.size());
+        assertEquals(1L, records.get(0).sequence());
+        assertEquals(new BigDecimal("10.510"), records.get(9).amount());
+        assertEquals(10L, records.get(9).accountId());
+        assertEquals(11L, recovered.append(1L, BigDecimal.ONE).sequence());
+        recovered.close();
+        log.close();
+    }
+
+    @Test
+    void shouldDropTornTailRecord() throws Exception {
+        WriteAheadLog log = new WriteAheadLog(directory, SEGMENT_SIZE, 1000);
+        for (int i = 0; i < 3; i++) {
+            log.awaitDurable(log.append(1L, BigDecimal.TEN).sequence());
+        }
+        log.close();
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(header, 0);
+            int recordSize = Integer.BYTES * 2 + header.flip().getInt();
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), recordSize * 2L + recordSize - 1);
+        }
+
+        WriteAheadLog recovered = new WriteAheadLog(directory, SEGMENT_SIZE, 1000);
+
+        assertEquals(2, recovered.drainDurable(100, Duration.ZERO).size());
+        assertEquals(3L, recovered.append(1L, BigDecimal.ONE).sequence());
+        recovered.close();
+        assertEquals(3, new WriteAheadLog(directory, SEGMENT_SIZE, 1000).drainDurable(100, Duration.ZERO).size());
+    }
+
+    @Test
+    void shouldRotateSegmentsAndDeleteAppliedOnes() throws Exception {
+        WriteAheadLog log = new WriteAheadLog(directory, 256, 1000);
+        long last = 0;
+        for (int i = 0; i < 50; i++) {
+            last = log.append(1L, BigDecimal.ONE).sequence();
+        }
+        log.awaitDurable(last);
+        assertTrue(segments().size() > 1);
+
+        log.markApplied(last - 1);
+        assertEquals(1, segments().size());
+        log.close();
+
+        WriteAheadLog recovered = new WriteAheadLog(directory, 256, 1000);
+        assertEquals(last + 1, recovered.append(1L, BigDecimal.ONE).sequence());
+        recovered.close();
+    }
+
+    @Test
+    void shouldContinueSequenceAboveCheckpointWhenSegmentsAreGone() throws Exception {
+        WriteAheadLog log = new WriteAheadLog(directory, SEGMENT_SIZE, 1000);
+        log.ensureSequenceAbove(500);
+
+        assertEquals(501L, log.append(1L, BigDecimal.ONE).sequence());
+        log.close();
+    }
+
+    @Test
+    void shouldGroupConcurrentSyncs() throws Exception {
+        WriteAheadLog log = new WriteAheadLog(directory, 1 << 20, 100_000);
+        int threads = 16;
+        int perThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<Long> sequences = new ArrayList<>();
+                    for (int j = 0; j < perThread; j++) {
+                        WalRecord record = log.append(1L, BigDecimal.ONE);
+                        log.awaitDurable(record.sequence());
+                        sequences.add(record.sequence());
+                    }
+                    return sequences;
+                }));
+            }
+            start.countDown();
+            Set<Long> sequences = new HashSet<>();
+            for (Future<List<Long>> future : futures) {
+                sequences.addAll(future.get());
+            }
+            assertEquals(threads * perThread, sequences.size());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(log.syncCount() <= threads * perThread);
+        assertEquals(threads * perThread, log.drainDurable(threads * perThread, Duration.ZERO).size());
+        log.close();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}